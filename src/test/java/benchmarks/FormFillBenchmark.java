@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pages.CheckoutPage;
+import utils.TestDataManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Form-fill strategies (form.fill) on the checkout information form - one script call against real keystrokes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dstandin.enabled=true", "-Dmetrics.enabled=false", "-Djfr.events.enabled=false"})
+public class FormFillBenchmark {
+
+    @Param({"script", "keys"})
+    public String strategy;
+
+    private CheckoutPage checkoutPage;
+    private String firstName;
+    private String lastName;
+    private String postalCode;
+
+    @Setup(Level.Trial)
+    public void openCheckout(StandInBrowser browser) {
+        browser.open("checkout-step-one.html");
+        System.setProperty("form.fill", strategy);
+        checkoutPage = new CheckoutPage(browser.driver);
+        TestDataManager testData = TestDataManager.getInstance();
+        firstName = testData.getCheckoutFirstName();
+        lastName = testData.getCheckoutLastName();
+        postalCode = testData.getCheckoutPostalCode();
+    }
+
+    @Benchmark
+    public void fillCheckoutInformation() {
+        checkoutPage.fillCheckoutInformation(firstName, lastName, postalCode);
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import pages.Locators;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator strategies for the same element - the Sauce Labs Backpack's add to cart button on the inventory page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dstandin.enabled=true", "-Dmetrics.enabled=false", "-Djfr.events.enabled=false"})
+public class LocatorBenchmark {
+
+    private static final String PRODUCT = "Sauce Labs Backpack";
+
+    @Param({"id", "class", "dataTest", "ancestorXPath"})
+    public String strategy;
+
+    private By locator;
+
+    @Setup(Level.Trial)
+    public void openInventory(StandInBrowser browser) {
+        browser.open("inventory.html");
+        locator = switch (strategy) {
+            case "id" -> By.id("add-to-cart-" + Locators.slug(PRODUCT));
+            // The backpack is the first tile in the default sort order
+            case "class" -> By.className("btn_inventory");
+            case "dataTest" -> Locators.ADD_TO_CART.with(PRODUCT);
+            case "ancestorXPath" -> By.xpath("//div[@data-test='inventory-item-name' and text()='" + PRODUCT
+                    + "']/ancestor::div[@data-test='inventory-item']//button");
+            default -> throw new IllegalArgumentException("Unknown locator strategy: " + strategy);
+        };
+    }
+
+    @Benchmark
+    public WebElement findElement(StandInBrowser browser) {
+        return browser.driver.findElement(locator);
+    }
+}
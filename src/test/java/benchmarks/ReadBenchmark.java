@@ -0,0 +1,64 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import pages.ProductsPage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading every product tile on the inventory page - a getText round trip per element against one bulk script
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dstandin.enabled=true", "-Dmetrics.enabled=false", "-Djfr.events.enabled=false"})
+public class ReadBenchmark {
+
+    private ProductsPage productsPage;
+
+    @Setup(Level.Trial)
+    public void openInventory(StandInBrowser browser) {
+        browser.open("inventory.html");
+        productsPage = new ProductsPage(browser.driver);
+    }
+
+    @Benchmark
+    public List<String> perElementGetText(StandInBrowser browser) {
+        return browser.driver.findElements(By.cssSelector(".inventory_item")).stream()
+                .map(tile -> tile.findElement(By.cssSelector(".inventory_item_name")).getText()
+                        + tile.findElement(By.cssSelector(".inventory_item_price")).getText()
+                        + tile.findElement(By.tagName("button")).getText())
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> perElementNamesOnly(StandInBrowser browser) {
+        return browser.driver.findElements(By.cssSelector(".inventory_item_name")).stream()
+                .map(WebElement::getText)
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProductsPage.ProductTile> bulkScriptTiles() {
+        return productsPage.getProductTiles();
+    }
+
+    @Benchmark
+    public List<String> bulkScriptNamesOnly() {
+        return productsPage.getAllProductNames();
+    }
+}
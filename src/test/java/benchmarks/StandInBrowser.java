@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.PageState;
+import utils.SessionSeeder;
+import utils.TestDataManager;
+
+/**
+ * Headless Chrome session on the embedded stand-in server, logged in and shared by every invocation of a benchmark
+ * Every benchmark forks with standin.enabled=true and with metrics and JFR command events switched off,
+ * so the numbers are the bare driver round trips of the strategy under test
+ */
+@State(Scope.Benchmark)
+public class StandInBrowser {
+
+    WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void launch() {
+        DriverManager.initializeDriver("headless-chrome");
+        driver = DriverManager.getDriver();
+        new SessionSeeder(driver).seedLogin(TestDataManager.getInstance().getStandardUsername());
+    }
+
+    @TearDown(Level.Trial)
+    public void quit() {
+        DriverManager.quitDriver();
+    }
+
+    /**
+     * Open a page of the stand-in, e.g. "inventory.html"
+     */
+    void open(String path) {
+        driver.get(ConfigReader.getBaseUrl() + path);
+        PageState.advance();
+    }
+}
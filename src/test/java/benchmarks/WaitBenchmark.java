@@ -0,0 +1,76 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import pages.Locators;
+import utils.WaitEngine;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WaitEngine strategies (wait.strategy) for an element that is already there, one that appears
+ * shortly after the wait starts, and a negative check for an element that never shows up
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dstandin.enabled=true", "-Dmetrics.enabled=false", "-Djfr.events.enabled=false"})
+public class WaitBenchmark {
+
+    private static final By DELAYED_ELEMENT = By.id("benchmark-delayed");
+    private static final By MISSING_ELEMENT = By.id("benchmark-missing");
+    private static final String APPEAR_LATER_SCRIPT =
+            "var old = document.getElementById('benchmark-delayed');" +
+            "if (old) { old.remove(); }" +
+            "setTimeout(function () {" +
+            "  var el = document.createElement('div');" +
+            "  el.id = 'benchmark-delayed';" +
+            "  el.textContent = 'ready';" +
+            "  document.body.appendChild(el);" +
+            "}, arguments[0]);";
+
+    @Param({"observer", "polling"})
+    public String strategy;
+
+    @Param({"50"})
+    public long appearAfterMs;
+
+    private WaitEngine waits;
+
+    @Setup(Level.Trial)
+    public void openInventory(StandInBrowser browser) {
+        browser.open("inventory.html");
+        System.setProperty("wait.strategy", strategy);
+        waits = new WaitEngine(browser.driver);
+    }
+
+    @Benchmark
+    public WebElement presentElement() {
+        return waits.untilVisible(Locators.TITLE);
+    }
+
+    @Benchmark
+    public WebElement delayedElement(StandInBrowser browser) {
+        ((JavascriptExecutor) browser.driver).executeScript(APPEAR_LATER_SCRIPT, appearAfterMs);
+        return waits.untilVisible(DELAYED_ELEMENT);
+    }
+
+    @Benchmark
+    public boolean absentElement() {
+        return waits.isAbsent(MISSING_ELEMENT);
+    }
+}
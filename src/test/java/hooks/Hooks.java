@@ -1,41 +1,159 @@
 package hooks;
 
 import io.cucumber.java.*;
+import metrics.FlightEvents;
+import pages.Locators;
+import utils.BrowserMemoryMonitor;
+import utils.ConfigReader;
 import utils.DriverManager;
+import utils.HttpCacheProxy;
+import utils.PagePerformance;
+import utils.ResourceBlocker;
 import utils.TestContext;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assume.assumeTrue;
 
 public class Hooks {
 
     private final TestContext testContext;
+    private FlightEvents.ScenarioEnd scenarioEvent;
 
     public Hooks(TestContext testContext) {
         this.testContext = testContext;
     }
 
+    @BeforeAll
+    public static void reportLocatorFallbacks() {
+        Map<String, String> fallbacks = Locators.getXPathFallbacks();
+        if (!fallbacks.isEmpty()) {
+            System.out.println("Locators still falling back to XPath (" + fallbacks.size() + "):");
+            fallbacks.forEach((description, xpath) -> System.out.println("  - " + description + ": " + xpath));
+        }
+    }
+
     @Before
     public void setUp(Scenario scenario) {
+        requireLocalOrigin(scenario);
         String browserType = DriverManager.getBrowserType();
-        System.out.println("Starting test: " + scenario.getName());
-        System.out.println("Browser: " + browserType);
+        System.out.println("[" + Thread.currentThread().getName() + "] Starting test: " + scenario.getName());
+        System.out.println("[" + Thread.currentThread().getName() + "] Browser: " + browserType);
+        recordScenarioStart(scenario, browserType);
 
         DriverManager.initializeDriver(browserType);
+        if (ResourceBlocker.isEnabledFor(scenario.getSourceTagNames())) {
+            ResourceBlocker.enable(DriverManager.getDriver());
+        }
         testContext.initializePages();
     }
 
+    /**
+     * Capture page timings after every step of @performance scenarios that landed on a new document
+     */
+    @AfterStep("@performance")
+    public void capturePageTimings() {
+        if (!DriverManager.isDriverInitialized()) {
+            return;
+        }
+        try {
+            List<PagePerformance.PageTimings> pageTimings = testContext.getPageTimings();
+            PagePerformance.captureIfNewDocument(DriverManager.getDriver(),
+                    pageTimings.isEmpty() ? null : pageTimings.get(pageTimings.size() - 1))
+                    .ifPresent(pageTimings::add);
+        } catch (Exception e) {
+            System.err.println("Failed to capture page timings: " + e.getMessage());
+        }
+    }
+
     @After
     public void tearDown(Scenario scenario) {
         if (scenario.isFailed()) {
             takeScreenshot(scenario);
         }
 
+        attachPageTimings(scenario);
         testContext.clearTestData();
-        DriverManager.quitDriver();
+        ResourceBlocker.disable();
+        // Sampled first, so failed scenarios get their numbers too
+        boolean overMemoryThresholds = sampleBrowserMemory(scenario);
+        DriverManager.releaseDriver(scenario.isFailed() || overMemoryThresholds);
+
+        System.out.println("[" + Thread.currentThread().getName() + "] Test completed: " + scenario.getName());
+        System.out.println("[" + Thread.currentThread().getName() + "] Status: " + (scenario.isFailed() ? "FAILED" : "PASSED"));
+        recordScenarioEnd(scenario);
+    }
+
+    /**
+     * Skip @local_origin scenarios unless the app is served by the stand-in or replayed by the cache proxy
+     * Their budgets assume loopback latency, so against the public site they would only measure the network.
+     * Checked before the driver starts, as later Before hooks still run after one is skipped
+     */
+    private void requireLocalOrigin(Scenario scenario) {
+        if (scenario.getSourceTagNames().contains("@local_origin")) {
+            assumeTrue("Skipped - @local_origin scenarios need standin.enabled=true or http.cache.mode=replay",
+                    ConfigReader.getBoolean("standin.enabled", false)
+                            || HttpCacheProxy.getMode() == HttpCacheProxy.Mode.REPLAY);
+        }
+    }
 
-        System.out.println("Test completed: " + scenario.getName());
-        System.out.println("Status: " + (scenario.isFailed() ? "FAILED" : "PASSED"));
+    /**
+     * Emit the scenario start JFR event and tag this thread with the scenario, so later events can be attributed to it
+     */
+    private void recordScenarioStart(Scenario scenario, String browserType) {
+        FlightEvents.setScenario(scenario.getName());
+        FlightEvents.ScenarioStart event = new FlightEvents.ScenarioStart();
+        if (event.shouldCommit()) {
+            event.scenario = scenario.getName();
+            event.tags = String.join(" ", scenario.getSourceTagNames());
+            event.browser = browserType;
+            event.commit();
+        }
+        scenarioEvent = new FlightEvents.ScenarioEnd();
+        scenarioEvent.begin();
+    }
+
+    private void recordScenarioEnd(Scenario scenario) {
+        if (scenarioEvent != null) {
+            scenarioEvent.end();
+            if (scenarioEvent.shouldCommit()) {
+                scenarioEvent.scenario = scenario.getName();
+                scenarioEvent.status = scenario.getStatus().name();
+                scenarioEvent.commit();
+            }
+        }
+        FlightEvents.clearScenario();
+    }
+
+    /**
+     * Log a memory sample of the scenario's browser and tell whether the session should be recycled
+     * Thresholds only matter for pooled sessions - every other mode ends the session anyway
+     */
+    private boolean sampleBrowserMemory(Scenario scenario) {
+        if (!BrowserMemoryMonitor.isEnabled() || !DriverManager.isDriverInitialized()) {
+            return false;
+        }
+        try {
+            BrowserMemoryMonitor.MemorySample sample = BrowserMemoryMonitor.sample(DriverManager.getDriver());
+            boolean overThresholds = DriverManager.isPooledMode() && sample.exceedsThresholds();
+            scenario.log(sample + (overThresholds ? " - over threshold, recycling session" : ""));
+            System.out.println("[" + Thread.currentThread().getName() + "] " + sample);
+            return overThresholds;
+        } catch (Exception e) {
+            System.err.println("Failed to sample browser memory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void attachPageTimings(Scenario scenario) {
+        for (PagePerformance.PageTimings timings : testContext.getPageTimings()) {
+            scenario.attach(timings.rawJson().getBytes(StandardCharsets.UTF_8), "application/json",
+                    "Page timings " + timings.url());
+            scenario.log(timings.toString());
+        }
     }
 
     private void takeScreenshot(Scenario scenario) {
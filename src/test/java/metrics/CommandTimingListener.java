@@ -0,0 +1,112 @@
+package metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * WebDriver listener timing every remote command and attributing it to the page-object method that issued it
+ * A page-object call is measured from the start of its first command to the end of its last one, and is
+ * identified by the outermost pages.* frame plus its call site, so consecutive calls from different step
+ * lines are told apart
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private static final ThreadLocal<Deque<Long>> commandStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<PageCall> currentPageCall = new ThreadLocal<>();
+
+    private static final class PageCall {
+        private final String name;
+        private final String callSite;
+        private final long start;
+        private long end;
+
+        private PageCall(String name, String callSite, long start) {
+            this.name = name;
+            this.callSite = callSite;
+            this.start = start;
+            this.end = start;
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        long now = System.nanoTime();
+        Deque<Long> starts = commandStarts.get();
+        if (starts.isEmpty()) {
+            trackPageCall(now);
+        }
+        starts.push(now);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finishCommand(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finishCommand(method);
+    }
+
+    /**
+     * Record the page-object call in progress on this thread - called when a step finishes
+     */
+    public static void flushPageCall() {
+        PageCall call = currentPageCall.get();
+        if (call != null) {
+            currentPageCall.remove();
+            Metrics.record(Metrics.PAGE, call.name, call.end - call.start);
+        }
+    }
+
+    private void finishCommand(Method method) {
+        Deque<Long> starts = commandStarts.get();
+        Long start = starts.poll();
+        if (start == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        // Nested calls (e.g. a wrapped element returned by findElement) are part of the outer command
+        if (starts.isEmpty()) {
+            Metrics.record(Metrics.WEBDRIVER, method.getName(), now - start);
+            PageCall call = currentPageCall.get();
+            if (call != null) {
+                call.end = now;
+            }
+        }
+    }
+
+    private void trackPageCall(long now) {
+        String[] caller = stackWalker.walk(frames -> {
+            String[] found = null;
+            boolean callerPending = false;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                boolean pageFrame = frame.getClassName().startsWith(PAGES_PACKAGE);
+                if (pageFrame) {
+                    String className = frame.getClassName().substring(PAGES_PACKAGE.length());
+                    found = new String[]{className + "." + frame.getMethodName(), null};
+                    callerPending = true;
+                } else if (callerPending) {
+                    found[1] = frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getByteCodeIndex();
+                    callerPending = false;
+                }
+            }
+            return found;
+        });
+
+        PageCall call = currentPageCall.get();
+        if (caller == null) {
+            flushPageCall();
+        } else if (call == null || !call.name.equals(caller[0]) || !Objects.equals(call.callSite, caller[1])) {
+            flushPageCall();
+            currentPageCall.set(new PageCall(caller[0], caller[1], now));
+        }
+    }
+}
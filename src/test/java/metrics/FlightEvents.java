@@ -0,0 +1,162 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import utils.ConfigReader;
+
+/**
+ * Custom Java Flight Recorder events for the test lifecycle
+ * Start a run with mvn test -Pflight-recording (or -XX:StartFlightRecording=filename=target/run.jfr
+ * -Djfr.events.enabled=true) and JMC shows scenarios, steps,
+ * WebDriver commands, waits and driver startups under the "Swag Labs" category, on the same timeline as
+ * the JVM's own socket reads and thread states. Events only cost anything while a recording enables them.
+ *
+ * jfr.events.enabled - wrap drivers with {@link FlightRecorderListener} for command events (default false,
+ *                      switched on by the flight-recording profile; the other events need no decoration)
+ */
+public class FlightEvents {
+
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Check if drivers should be decorated for WebDriver command events
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("jfr.events.enabled", false);
+    }
+
+    /**
+     * Set the scenario running on this thread, reported by every event committed on it
+     */
+    public static void setScenario(String scenario) {
+        currentScenario.set(scenario);
+    }
+
+    public static void clearScenario() {
+        currentScenario.remove();
+    }
+
+    public static String getScenario() {
+        return currentScenario.get();
+    }
+
+    @Name("swaglabs.ScenarioStart")
+    @Label("Scenario Start")
+    @Category({"Swag Labs", "Cucumber"})
+    @StackTrace(false)
+    public static class ScenarioStart extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Tags")
+        public String tags;
+
+        @Label("Browser")
+        public String browser;
+    }
+
+    @Name("swaglabs.ScenarioEnd")
+    @Label("Scenario End")
+    @Description("Spans the scenario from its first Before hook to the end of the teardown")
+    @Category({"Swag Labs", "Cucumber"})
+    @StackTrace(false)
+    public static class ScenarioEnd extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Status")
+        public String status;
+    }
+
+    @Name("swaglabs.Step")
+    @Label("Step")
+    @Category({"Swag Labs", "Cucumber"})
+    @StackTrace(false)
+    public static class Step extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Step")
+        public String step;
+
+        @Label("Hook Type")
+        @Description("Cucumber hook type (BEFORE, AFTER, BEFORE_STEP, AFTER_STEP), or null for a scenario step")
+        public String hookType;
+
+        @Label("Status")
+        public String status;
+    }
+
+    @Name("swaglabs.WebDriverCommand")
+    @Label("WebDriver Command")
+    @Category({"Swag Labs", "WebDriver"})
+    @StackTrace(false)
+    public static class WebDriverCommand extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Command")
+        public String command;
+
+        @Label("Locator")
+        @Description("Locator of the element the command was sent to, or searched for")
+        public String locator;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("swaglabs.Wait")
+    @Label("Wait")
+    @Category({"Swag Labs", "WebDriver"})
+    @StackTrace(false)
+    public static class Wait extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Condition")
+        public String condition;
+
+        @Label("Locator")
+        public String locator;
+
+        @Label("Strategy")
+        public String strategy;
+
+        @Label("Timeout")
+        @Timespan(Timespan.MILLISECONDS)
+        public long timeout;
+
+        @Label("Satisfied")
+        @Description("False when the wait timed out")
+        public boolean satisfied;
+    }
+
+    @Name("swaglabs.DriverStartup")
+    @Label("Driver Startup")
+    @Category({"Swag Labs", "WebDriver"})
+    @StackTrace(false)
+    public static class DriverStartup extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Browser")
+        public String browser;
+
+        @Label("Kind")
+        @Description("launch for a new browser process, context for a browser context in the shared host, "
+                + "claim for taking a pooled or pre-launched session")
+        public String kind;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+}
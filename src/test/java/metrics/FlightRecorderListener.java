@@ -0,0 +1,72 @@
+package metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * WebDriver listener emitting a {@link FlightEvents.WebDriverCommand} JFR event per command
+ * Elements found while a recording is running remember their locator, so clicks and reads on them
+ * are reported with the locator they were found by
+ */
+public class FlightRecorderListener implements WebDriverListener {
+
+    private static final Map<WebElement, String> elementLocators = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Deque<FlightEvents.WebDriverCommand>> commands =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        FlightEvents.WebDriverCommand event = new FlightEvents.WebDriverCommand();
+        event.begin();
+        commands.get().push(event);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        commit(target, method, args, result, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        commit(target, method, args, null, true);
+    }
+
+    private void commit(Object target, Method method, Object[] args, Object result, boolean failed) {
+        FlightEvents.WebDriverCommand event = commands.get().poll();
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        String locator = args != null && args.length > 0 && args[0] instanceof By by
+                ? by.toString()
+                : elementLocators.get(target);
+        if (locator != null) {
+            if (result instanceof WebElement element) {
+                elementLocators.put(element, locator);
+            } else if (result instanceof List<?> elements) {
+                elements.stream()
+                        .filter(WebElement.class::isInstance)
+                        .forEach(element -> elementLocators.put((WebElement) element, locator));
+            }
+        }
+
+        event.scenario = FlightEvents.getScenario();
+        event.command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        event.locator = locator;
+        event.failed = failed;
+        event.commit();
+    }
+}
@@ -0,0 +1,99 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets
+ * Values are recorded in microseconds. Every power-of-two range is split into 64 linear
+ * sub-buckets, so any recorded value is reported within about 1.6% of its true value
+ * while the whole histogram stays a fixed array of counters (up to roughly an hour)
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 27;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAGNITUDES + 1) * SUB_BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record one latency
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(Math.min(bucketIndex(micros), counts.length() - 1));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Get the value at a percentile (0-100) in milliseconds - the highest value equivalent to its bucket
+     */
+    public double getPercentileMillis(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(index), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Summary used by the metrics export - count, mean, p50, p95, p99 and max in milliseconds
+     */
+    public Map<String, Object> summary() {
+        long count = totalCount.get();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("meanMs", count == 0 ? 0 : round(totalMicros.get() / 1000.0 / count));
+        summary.put("p50Ms", round(getPercentileMillis(50)));
+        summary.put("p95Ms", round(getPercentileMillis(95)));
+        summary.put("p99Ms", round(getPercentileMillis(99)));
+        summary.put("maxMs", round(maxMicros.get() / 1000.0));
+        summary.put("totalMs", round(totalMicros.get() / 1000.0));
+        return summary;
+    }
+
+    /**
+     * Values below 64 get a bucket each; above that, the bucket is picked by the magnitude and the 6 bits below the top bit
+     */
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (magnitude + 1) * SUB_BUCKET_COUNT + (int) ((micros >>> magnitude) - SUB_BUCKET_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+}
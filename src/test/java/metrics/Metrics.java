@@ -0,0 +1,101 @@
+package metrics;
+
+import org.openqa.selenium.json.Json;
+import utils.ConfigReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency metrics registry
+ * Holds one histogram per category (step, page, webdriver) and name, and exports their
+ * percentiles to metrics.dir (default target/metrics) at the end of the run
+ */
+public class Metrics {
+
+    public static final String STEP = "step";
+    public static final String PAGE = "page";
+    public static final String WEBDRIVER = "webdriver";
+
+    private static final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Check if drivers should be decorated for command timing (metrics.enabled, default false)
+     * Opt-in, since the listener walks the stack on every WebDriver command to find the page-object method
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("metrics.enabled", false);
+    }
+
+    /**
+     * Directory the metrics reports are written to
+     */
+    static Path getDirectory() {
+        return Paths.get(ConfigReader.getProperty("metrics.dir", "target/metrics"));
+    }
+
+    /**
+     * Record one latency under a category and name
+     */
+    public static void record(String category, String name, long nanos) {
+        histograms.computeIfAbsent(category, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, key -> new LatencyHistogram())
+                .recordNanos(nanos);
+    }
+
+    /**
+     * Write latency.json with the percentiles of every histogram and print the slowest entries per category
+     */
+    public static Path export() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generated", Instant.now().toString());
+        new TreeMap<>(histograms).forEach((category, byName) -> {
+            Map<String, Object> summaries = new TreeMap<>();
+            byName.forEach((name, histogram) -> summaries.put(name, histogram.summary()));
+            report.put(category, summaries);
+        });
+
+        Path file = getDirectory().resolve("latency.json");
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new Json().newOutput(writer).setPrettyPrint(true).write(report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency metrics to " + file, e);
+        }
+
+        printSummary();
+        System.out.println("Latency metrics written to " + file.toAbsolutePath());
+        return file;
+    }
+
+    private static void printSummary() {
+        new TreeMap<>(histograms).forEach((category, byName) -> {
+            System.out.println("Slowest " + category + " entries by p95 (ms):");
+            byName.entrySet().stream()
+                    .sorted(Comparator.comparingDouble(
+                            (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getPercentileMillis(95))
+                            .reversed())
+                    .limit(5)
+                    .forEach(entry -> System.out.printf("  %-60s n=%-5d p50=%-9.1f p95=%-9.1f p99=%.1f%n",
+                            entry.getKey(), entry.getValue().getCount(),
+                            entry.getValue().getPercentileMillis(50),
+                            entry.getValue().getPercentileMillis(95),
+                            entry.getValue().getPercentileMillis(99)));
+        });
+    }
+}
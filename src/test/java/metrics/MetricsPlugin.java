@@ -0,0 +1,74 @@
+package metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin collecting latency histograms per step definition
+ * With metrics.enabled=true {@link CommandTimingListener} on the drivers also covers page-object methods and
+ * WebDriver commands; all histograms are exported when the run finishes. Each step is also emitted as a
+ * {@link FlightEvents.Step} JFR event; runs under a flight recording also get a {@link TimeAttributionReport}.
+ * Register it in @CucumberOptions as "metrics.MetricsPlugin"
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+
+    // Steps run on the thread that publishes their events, so the JFR step event is kept per thread
+    private static final ThreadLocal<FlightEvents.Step> stepEvents = new ThreadLocal<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        Metrics.export();
+        TimeAttributionReport.exportFromActiveRecording();
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        FlightEvents.Step stepEvent = new FlightEvents.Step();
+        stepEvent.begin();
+        stepEvents.set(stepEvent);
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        CommandTimingListener.flushPageCall();
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            // Undefined steps have no step definition pattern
+            Metrics.record(Metrics.STEP, step.getPattern() != null ? step.getPattern() : step.getStep().getText(), nanos);
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            Metrics.record(Metrics.STEP, hook.getHookType() + " " + hook.getCodeLocation(), nanos);
+        }
+        commitStepEvent(event);
+    }
+
+    private void commitStepEvent(TestStepFinished event) {
+        FlightEvents.Step stepEvent = stepEvents.get();
+        stepEvents.remove();
+        if (stepEvent == null) {
+            return;
+        }
+        stepEvent.end();
+        if (stepEvent.shouldCommit()) {
+            TestStep testStep = event.getTestStep();
+            stepEvent.scenario = event.getTestCase().getName();
+            if (testStep instanceof PickleStepTestStep step) {
+                stepEvent.step = step.getStep().getKeyword() + step.getStep().getText();
+            } else {
+                stepEvent.hookType = ((HookTestStep) testStep).getHookType().name();
+                stepEvent.step = stepEvent.hookType;
+            }
+            stepEvent.status = event.getResult().getStatus().name();
+            stepEvent.commit();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package metrics;
+
+import io.cucumber.plugin.event.HookType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.openqa.selenium.json.Json;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Post-run time attribution report
+ * Reads a JFR recording of a run and splits each scenario's wall time into driver startup, teardown,
+ * explicit waits, sleeps, implicit-wait stalls, navigation and remote command I/O; whatever is left is
+ * test code. Where events overlap, the time goes to the bucket declared first in {@link Bucket}.
+ * Writes time-attribution.json and a waterfall time-attribution.html, both with the worst steps, to metrics.dir.
+ *
+ * Runs at the end of a recorded run (mvn test -Pflight-recording), or on a saved recording:
+ * java -cp target/test-classes:... metrics.TimeAttributionReport target/run.jfr [output dir]
+ */
+public class TimeAttributionReport {
+
+    private static final int WORST_STEPS = 20;
+
+    enum Bucket {
+        DRIVER_STARTUP("driver startup", "#8e44ad"),
+        TEARDOWN("teardown", "#7f8c8d"),
+        EXPLICIT_WAIT("explicit waits", "#e67e22"),
+        SLEEP("sleeps", "#c0392b"),
+        IMPLICIT_WAIT_STALL("implicit-wait stalls", "#f1c40f"),
+        NAVIGATION("navigation", "#2980b9"),
+        REMOTE_IO("remote command I/O", "#27ae60"),
+        TEST_CODE("test code", "#dfe4e6");
+
+        private final String label;
+        private final String color;
+
+        Bucket(String label, String color) {
+            this.label = label;
+            this.color = color;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    private record Span(long threadId, long start, long end, String name, String status) {
+    }
+
+    private record Interval(long threadId, long start, long end, Bucket bucket) {
+    }
+
+    private record Segment(Bucket bucket, long start, long end) {
+    }
+
+    private record ScenarioTimeline(Span scenario, List<Segment> segments, List<Span> steps) {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: TimeAttributionReport <recording.jfr> [output dir]");
+            System.exit(2);
+        }
+        analyze(Paths.get(args[0]), args.length > 1 ? Paths.get(args[1]) : Metrics.getDirectory());
+    }
+
+    /**
+     * Analyze the flight recording of the current run, if one is running - called when the run finishes
+     */
+    static void exportFromActiveRecording() {
+        if (!FlightRecorder.isInitialized()) {
+            return;
+        }
+        FlightRecorder recorder = FlightRecorder.getFlightRecorder();
+        if (recorder.getRecordings().stream().noneMatch(recording -> recording.getState() == RecordingState.RUNNING)) {
+            return;
+        }
+        Path directory = Metrics.getDirectory();
+        try (Recording snapshot = recorder.takeSnapshot()) {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("run-snapshot.jfr");
+            snapshot.dump(file);
+            analyze(file, directory);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Failed to build time attribution report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Build the report from a recording and write it to the output directory
+     */
+    public static void analyze(Path recording, Path outputDirectory) {
+        List<Span> scenarios = new ArrayList<>();
+        List<Span> steps = new ArrayList<>();
+        List<Interval> intervals = new ArrayList<>();
+        try {
+            for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+                collect(event, scenarios, steps, intervals);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read flight recording " + recording, e);
+        }
+
+        scenarios.sort(Comparator.comparingLong(Span::start));
+        List<ScenarioTimeline> timelines = scenarios.stream().map(scenario -> timeline(scenario, steps, intervals)).toList();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generated", Instant.now().toString());
+        report.put("recording", recording.toAbsolutePath().toString());
+        report.put("totalsMs", toMillis(totals(timelines)));
+        report.put("scenarios", timelines.stream().map(TimeAttributionReport::describeScenario).toList());
+        report.put("worstSteps", worstSteps(timelines));
+
+        try {
+            Files.createDirectories(outputDirectory);
+            try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve("time-attribution.json"), StandardCharsets.UTF_8)) {
+                new Json().newOutput(writer).setPrettyPrint(true).write(report);
+            }
+            Files.writeString(outputDirectory.resolve("time-attribution.html"), renderHtml(timelines), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write time attribution report to " + outputDirectory, e);
+        }
+
+        printSummary(timelines);
+        System.out.println("Time attribution report written to " + outputDirectory.toAbsolutePath().resolve("time-attribution.html"));
+    }
+
+    private static void collect(RecordedEvent event, List<Span> scenarios, List<Span> steps, List<Interval> intervals) {
+        RecordedThread thread = event.getThread();
+        if (thread == null) {
+            return;
+        }
+        long threadId = thread.getJavaThreadId();
+        long start = toNanos(event.getStartTime());
+        long end = toNanos(event.getEndTime());
+
+        switch (event.getEventType().getName()) {
+            case "swaglabs.ScenarioEnd" ->
+                    scenarios.add(new Span(threadId, start, end, event.getString("scenario"), event.getString("status")));
+            case "swaglabs.Step" -> {
+                steps.add(new Span(threadId, start, end, event.getString("step"), event.getString("status")));
+                if (isAfterHook(event.getString("hookType"))) {
+                    intervals.add(new Interval(threadId, start, end, Bucket.TEARDOWN));
+                }
+            }
+            case "swaglabs.DriverStartup" -> intervals.add(new Interval(threadId, start, end, Bucket.DRIVER_STARTUP));
+            case "swaglabs.Wait" -> intervals.add(new Interval(threadId, start, end, Bucket.EXPLICIT_WAIT));
+            case "jdk.ThreadSleep" -> intervals.add(new Interval(threadId, start, end, Bucket.SLEEP));
+            case "swaglabs.WebDriverCommand" ->
+                    intervals.add(new Interval(threadId, start, end, classifyCommand(event.getString("command"), event.getBoolean("failed"))));
+            default -> {
+            }
+        }
+    }
+
+    private static boolean isAfterHook(String hookType) {
+        return HookType.AFTER.name().equals(hookType) || HookType.AFTER_STEP.name().equals(hookType);
+    }
+
+    /**
+     * The scenario events are emitted from inside the Before and After hooks, so the scenario is widened
+     * to the hook steps around it
+     */
+    private static ScenarioTimeline timeline(Span scenario, List<Span> steps, List<Interval> intervals) {
+        List<Span> scenarioSteps = steps.stream()
+                .filter(step -> step.threadId() == scenario.threadId()
+                        && step.start() < scenario.end() && step.end() > scenario.start())
+                .toList();
+        Span widened = new Span(scenario.threadId(),
+                scenarioSteps.stream().mapToLong(Span::start).min().orElse(scenario.start()),
+                scenarioSteps.stream().mapToLong(Span::end).max().orElse(scenario.end()),
+                scenario.name(), scenario.status());
+        List<Interval> threadIntervals = intervals.stream()
+                .filter(interval -> interval.threadId() == scenario.threadId())
+                .toList();
+        return new ScenarioTimeline(widened, attribute(widened, threadIntervals), scenarioSteps);
+    }
+
+    /**
+     * A failed element lookup is where an implicit wait would block before giving up
+     */
+    private static Bucket classifyCommand(String command, boolean failed) {
+        if (command.endsWith(".get") || command.startsWith("Navigation.")) {
+            return Bucket.NAVIGATION;
+        }
+        if (failed && (command.endsWith(".findElement") || command.endsWith(".findElements"))) {
+            return Bucket.IMPLICIT_WAIT_STALL;
+        }
+        return Bucket.REMOTE_IO;
+    }
+
+    /**
+     * Sweep the scenario's intervals in time order, giving each stretch to the first declared bucket active in it
+     */
+    private static List<Segment> attribute(Span scenario, List<Interval> intervals) {
+        record Edge(long time, Bucket bucket, int delta) {
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (Interval interval : intervals) {
+            long start = Math.max(interval.start(), scenario.start());
+            long end = Math.min(interval.end(), scenario.end());
+            if (start < end) {
+                edges.add(new Edge(start, interval.bucket(), 1));
+                edges.add(new Edge(end, interval.bucket(), -1));
+            }
+        }
+        edges.add(new Edge(scenario.end(), Bucket.TEST_CODE, 0));
+        edges.sort(Comparator.comparingLong(Edge::time));
+
+        int[] active = new int[Bucket.values().length];
+        List<Segment> segments = new ArrayList<>();
+        long position = scenario.start();
+        for (Edge edge : edges) {
+            if (edge.time() > position) {
+                Bucket bucket = Bucket.TEST_CODE;
+                for (Bucket candidate : Bucket.values()) {
+                    if (active[candidate.ordinal()] > 0) {
+                        bucket = candidate;
+                        break;
+                    }
+                }
+                Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (last != null && last.bucket() == bucket) {
+                    segments.set(segments.size() - 1, new Segment(bucket, last.start(), edge.time()));
+                } else {
+                    segments.add(new Segment(bucket, position, edge.time()));
+                }
+                position = edge.time();
+            }
+            active[edge.bucket().ordinal()] += edge.delta();
+        }
+        return segments;
+    }
+
+    private static Map<Bucket, Long> breakdown(List<Segment> segments, long start, long end) {
+        Map<Bucket, Long> nanos = new EnumMap<>(Bucket.class);
+        for (Bucket bucket : Bucket.values()) {
+            nanos.put(bucket, 0L);
+        }
+        for (Segment segment : segments) {
+            long overlap = Math.min(segment.end(), end) - Math.max(segment.start(), start);
+            if (overlap > 0) {
+                nanos.merge(segment.bucket(), overlap, Long::sum);
+            }
+        }
+        return nanos;
+    }
+
+    private static Map<Bucket, Long> totals(List<ScenarioTimeline> timelines) {
+        Map<Bucket, Long> totals = new EnumMap<>(Bucket.class);
+        for (ScenarioTimeline timeline : timelines) {
+            breakdown(timeline.segments(), timeline.scenario().start(), timeline.scenario().end())
+                    .forEach((bucket, nanos) -> totals.merge(bucket, nanos, Long::sum));
+        }
+        return totals;
+    }
+
+    private static Map<String, Object> describeScenario(ScenarioTimeline timeline) {
+        Span scenario = timeline.scenario();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("name", scenario.name());
+        description.put("status", scenario.status());
+        description.put("durationMs", millis(scenario.end() - scenario.start()));
+        description.put("bucketsMs", toMillis(breakdown(timeline.segments(), scenario.start(), scenario.end())));
+        description.put("waterfall", timeline.segments().stream()
+                .map(segment -> Map.of(
+                        "bucket", segment.bucket().key(),
+                        "offsetMs", millis(segment.start() - scenario.start()),
+                        "durationMs", millis(segment.end() - segment.start())))
+                .toList());
+        return description;
+    }
+
+    /**
+     * Step executions ranked by duration, each with its own breakdown
+     */
+    private static List<Map<String, Object>> worstSteps(List<ScenarioTimeline> timelines) {
+        record RankedStep(String scenario, Span step, Map<Bucket, Long> breakdown) {
+        }
+        return timelines.stream()
+                .flatMap(timeline -> timeline.steps().stream()
+                        .map(step -> new RankedStep(timeline.scenario().name(), step,
+                                breakdown(timeline.segments(), step.start(), step.end()))))
+                .sorted(Comparator.comparingLong((RankedStep ranked) -> ranked.step().end() - ranked.step().start()).reversed())
+                .limit(WORST_STEPS)
+                .map(ranked -> {
+                    Map<String, Object> description = new LinkedHashMap<>();
+                    description.put("scenario", ranked.scenario());
+                    description.put("step", ranked.step().name());
+                    description.put("status", ranked.step().status());
+                    description.put("durationMs", millis(ranked.step().end() - ranked.step().start()));
+                    description.put("dominantBucket", dominantBucket(ranked.breakdown()).key());
+                    description.put("bucketsMs", toMillis(ranked.breakdown()));
+                    return description;
+                })
+                .toList();
+    }
+
+    private static Bucket dominantBucket(Map<Bucket, Long> breakdown) {
+        return breakdown.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(Bucket.TEST_CODE);
+    }
+
+    private static String renderHtml(List<ScenarioTimeline> timelines) {
+        Map<Bucket, Long> totals = totals(timelines);
+        long total = totals.values().stream().mapToLong(Long::longValue).sum();
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Scenario time attribution</title><style>")
+                .append("body{font-family:sans-serif;margin:24px;color:#2c3e50}table{border-collapse:collapse;margin-bottom:24px}")
+                .append("td,th{padding:4px 10px;border-bottom:1px solid #eee;text-align:left}td.num{text-align:right}")
+                .append(".swatch{display:inline-block;width:12px;height:12px;margin-right:6px;vertical-align:middle}")
+                .append(".row{display:flex;align-items:center;margin:3px 0}.label{width:360px;font-size:12px;overflow:hidden;white-space:nowrap;text-overflow:ellipsis}")
+                .append(".bar{position:relative;flex:1;height:16px;background:#f7f9f9}.bar div{position:absolute;top:0;height:100%}")
+                .append("</style></head><body>\n<h1>Scenario time attribution</h1>\n");
+
+        html.append("<h2>Totals</h2>\n<table><tr><th>Bucket</th><th>Time (ms)</th><th>Share</th></tr>\n");
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<Bucket, Long>comparingByValue().reversed())
+                .forEach(entry -> html.append("<tr><td><span class=\"swatch\" style=\"background:").append(entry.getKey().color)
+                        .append("\"></span>").append(entry.getKey().label).append("</td><td class=\"num\">")
+                        .append(String.format("%.1f", entry.getValue() / 1e6)).append("</td><td class=\"num\">")
+                        .append(String.format("%.1f%%", total == 0 ? 0 : 100.0 * entry.getValue() / total)).append("</td></tr>\n"));
+        html.append("</table>\n");
+
+        // All bars share the scale of the longest scenario
+        long longest = timelines.stream().mapToLong(timeline -> timeline.scenario().end() - timeline.scenario().start()).max().orElse(1);
+        html.append("<h2>Waterfall</h2>\n");
+        for (ScenarioTimeline timeline : timelines) {
+            Span scenario = timeline.scenario();
+            html.append("<div class=\"row\"><div class=\"label\" title=\"").append(escape(scenario.name())).append("\">")
+                    .append(escape(scenario.name())).append(" (").append(String.format("%.0f", (scenario.end() - scenario.start()) / 1e6))
+                    .append(" ms, ").append(escape(scenario.status())).append(")</div><div class=\"bar\">");
+            for (Segment segment : timeline.segments()) {
+                html.append("<div style=\"left:").append(String.format("%.3f", 100.0 * (segment.start() - scenario.start()) / longest))
+                        .append("%;width:").append(String.format("%.3f", 100.0 * (segment.end() - segment.start()) / longest))
+                        .append("%;background:").append(segment.bucket().color).append("\" title=\"").append(segment.bucket().label)
+                        .append(String.format(" %.1f ms", (segment.end() - segment.start()) / 1e6)).append("\"></div>");
+            }
+            html.append("</div></div>\n");
+        }
+
+        html.append("<h2>Worst steps</h2>\n<table><tr><th>#</th><th>Scenario</th><th>Step</th><th>Duration (ms)</th><th>Mostly</th></tr>\n");
+        List<Map<String, Object>> worst = worstSteps(timelines);
+        for (int rank = 0; rank < worst.size(); rank++) {
+            Map<String, Object> step = worst.get(rank);
+            html.append("<tr><td>").append(rank + 1).append("</td><td>").append(escape(String.valueOf(step.get("scenario"))))
+                    .append("</td><td>").append(escape(String.valueOf(step.get("step")))).append("</td><td class=\"num\">")
+                    .append(step.get("durationMs")).append("</td><td>")
+                    .append(Bucket.valueOf(String.valueOf(step.get("dominantBucket")).toUpperCase()).label).append("</td></tr>\n");
+        }
+        html.append("</table>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static void printSummary(List<ScenarioTimeline> timelines) {
+        Map<Bucket, Long> totals = totals(timelines);
+        System.out.println("Scenario time attribution over " + timelines.size() + " scenarios (ms):");
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<Bucket, Long>comparingByValue().reversed())
+                .forEach(entry -> System.out.printf("  %-22s %.1f%n", entry.getKey().label, entry.getValue() / 1e6));
+    }
+
+    private static Map<String, Object> toMillis(Map<Bucket, Long> nanos) {
+        Map<String, Object> millis = new LinkedHashMap<>();
+        nanos.forEach((bucket, value) -> millis.put(bucket.key(), millis(value)));
+        return millis;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -1,12 +1,24 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.ConfigReader;
+import utils.PageState;
+import utils.ScriptLocator;
+import utils.WaitEngine;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Base Page Object class containing common methods and utilities
@@ -15,77 +27,242 @@ import java.util.List;
 public abstract class BasePage {
 
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine waits;
+
+    /**
+     * Reads named fields from every element matching a CSS selector.
+     * A field selector is resolved relative to the item; "" means the item itself and
+     * a trailing "@name" reads that attribute instead of the visible text.
+     */
+    private static final String BULK_READ_SCRIPT =
+            "var items = document.querySelectorAll(arguments[0]);" +
+            "var fields = arguments[1];" +
+            "var rows = [];" +
+            "for (var i = 0; i < items.length; i++) {" +
+            "  var row = {};" +
+            "  for (var name in fields) {" +
+            "    var spec = fields[name], at = spec.lastIndexOf('@');" +
+            "    var selector = at >= 0 ? spec.substring(0, at) : spec;" +
+            "    var el = selector ? items[i].querySelector(selector) : items[i];" +
+            "    row[name] = !el ? null : at >= 0 ? el.getAttribute(spec.substring(at + 1)) : el.innerText.trim();" +
+            "  }" +
+            "  rows.push(row);" +
+            "}" +
+            "return rows;";
+
+    private static final String CLICK_ALL_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION +
+            "var found = findAll(arguments[0], arguments[1]);" +
+            "for (var i = 0; i < found.length; i++) { found[i].click(); }" +
+            "return found.length;";
+
+    /**
+     * Sets input values through the native value setter and fires the input/change events React
+     * listens to, then returns each value as read back from the element (null if not found)
+     */
+    private static final String FILL_FORM_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION +
+            "var fields = arguments[0], values = [];" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "  var el = findAll(fields[i][0], fields[i][1])[0];" +
+            "  if (!el) { values.push(null); continue; }" +
+            "  var prototype = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(el, fields[i][2]);" +
+            "  el.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  el.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "  values.push(el.value);" +
+            "}" +
+            "return values;";
 
     // Common locators
-    protected By cartBadge = By.className("shopping_cart_badge");
-    protected By cartIcon = By.className("shopping_cart_link");
-    protected By menuButton = By.id("react-burger-menu-btn");
+    protected By cartBadge = Locators.CART_BADGE;
+    protected By cartIcon = Locators.CART_LINK;
+    protected By menuButton = Locators.MENU_BUTTON;
+
+    // Element handles resolved in the current page state epoch, keyed by locator
+    private final Map<By, WebElement> elementCache = new HashMap<>();
+    private long elementCacheEpoch = -1;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.waits = new WaitEngine(driver);
     }
 
     /**
      * Wait for element to be visible and return it
      */
     protected WebElement waitForElement(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return cacheElement(locator, waits.untilVisible(locator));
     }
 
     /**
      * Wait for element to be clickable and return it
      */
     protected WebElement waitForClickableElement(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return cacheElement(locator, waits.untilClickable(locator));
     }
 
     /**
-     * Check if element is displayed
+     * Wait for element to be visible and stop moving or changing text
+     */
+    protected WebElement waitForStableElement(By locator) {
+        return waits.untilStable(locator);
+    }
+
+    /**
+     * Check if element is displayed, waiting for it to appear
+     * Use for checks that are expected to pass
      */
     protected boolean isElementDisplayed(By locator) {
+        WebElement cached = getCachedElement(locator);
+        try {
+            if (cached != null && cached.isDisplayed()) {
+                return true;
+            }
+        } catch (StaleElementReferenceException e) {
+            elementCache.remove(locator);
+        }
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
+            waitForElement(locator);
+            return true;
+        } catch (TimeoutException | ScriptTimeoutException e) {
             return false;
         }
     }
 
+    /**
+     * Check if element is hidden or missing, giving up after the short absence timeout
+     * Use for "should not be visible" checks so they resolve in milliseconds
+     */
+    protected boolean isElementHidden(By locator) {
+        return waits.isAbsent(locator);
+    }
+
+    /**
+     * Check if element is in the DOM right now without waiting
+     */
+    protected boolean isElementPresent(By locator) {
+        return waits.isPresentNow(locator);
+    }
+
     /**
      * Get text from element
      */
     protected String getElementText(By locator) {
-        return waitForElement(locator).getText();
+        return withElement(locator, this::waitForElement, WebElement::getText);
     }
 
     /**
      * Click on element
      */
     protected void clickElement(By locator) {
-        waitForClickableElement(locator).click();
+        withElement(locator, this::waitForClickableElement, element -> {
+            element.click();
+            return null;
+        });
+        PageState.advance();
     }
 
     /**
      * Type text into input field
      */
     protected void typeText(By locator, String text) {
-        WebElement element = waitForElement(locator);
-        element.clear();
-        element.sendKeys(text);
+        withElement(locator, this::waitForElement, element -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
 
     /**
-     * Get cart badge count
+     * Run an action on the cached handle for a locator, skipping the findElement round trip
+     * A handle that went stale or cannot be interacted with is dropped, and the action is retried
+     * once on an element freshly resolved (and waited for) by the resolver
      */
-    public String getCartBadgeCount() {
+    private <T> T withElement(By locator, Function<By, WebElement> resolver, Function<WebElement, T> action) {
+        WebElement cached = getCachedElement(locator);
+        if (cached != null) {
+            try {
+                return action.apply(cached);
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                elementCache.remove(locator);
+            }
+        }
+        return action.apply(resolver.apply(locator));
+    }
+
+    /**
+     * Get the handle cached for a locator, or null - the cache empties whenever the page state epoch moves on
+     */
+    private WebElement getCachedElement(By locator) {
+        if (elementCacheEpoch != PageState.current()) {
+            elementCache.clear();
+            elementCacheEpoch = PageState.current();
+        }
+        return elementCache.get(locator);
+    }
+
+    private WebElement cacheElement(By locator, WebElement element) {
+        getCachedElement(locator);
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Fill several input fields in one round trip and verify the values read back
+     * Waits for the first field only, since a form renders as a whole. With form.fill=keys
+     * every field is typed with real keystrokes through {@link #typeText(By, String)} instead.
+     * A null value clears the field
+     */
+    @SuppressWarnings("unchecked")
+    protected void fillForm(Map<By, String> values) {
+        if ("keys".equalsIgnoreCase(ConfigReader.getProperty("form.fill", "script"))) {
+            values.forEach((locator, value) -> typeText(locator, Objects.toString(value, "")));
+            return;
+        }
+
+        List<By> locators = new ArrayList<>(values.keySet());
+        waitForElement(locators.get(0));
+        List<List<String>> fields = new ArrayList<>();
+        for (By locator : locators) {
+            fields.add(List.of(ScriptLocator.using(locator), ScriptLocator.value(locator),
+                    Objects.toString(values.get(locator), "")));
+        }
+
+        List<Object> readBack = (List<Object>) ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, fields);
+        for (int i = 0; i < locators.size(); i++) {
+            String expected = Objects.toString(values.get(locators.get(i)), "");
+            if (!Objects.equals(expected, readBack.get(i))) {
+                throw new IllegalStateException("Form field " + locators.get(i) + " holds '" + readBack.get(i)
+                        + "' after filling, expected '" + expected + "'");
+            }
+        }
+    }
+
+    /**
+     * Wait for the cart badge to show a count - an empty cart ("0") has no badge at all
+     * Returns false if the badge doesn't get there within the timeout
+     */
+    public boolean waitForCartBadgeCount(String expectedCount) {
+        if ("0".equals(expectedCount)) {
+            return isElementHidden(cartBadge);
+        }
         try {
-            return getElementText(cartBadge);
-        } catch (Exception e) {
-            return "0";
+            waits.untilText(cartBadge, expectedCount);
+            return true;
+        } catch (TimeoutException | ScriptTimeoutException e) {
+            return false;
         }
     }
 
+    /**
+     * Get cart badge count as shown right now
+     */
+    public String getCartBadgeCount() {
+        List<WebElement> badges = findElements(cartBadge);
+        return badges.isEmpty() ? "0" : badges.get(0).getText();
+    }
+
     /**
      * Check if cart badge is visible
      */
@@ -93,6 +270,13 @@ public abstract class BasePage {
         return isElementDisplayed(cartBadge);
     }
 
+    /**
+     * Check if cart badge is hidden
+     */
+    public boolean isCartBadgeHidden() {
+        return isElementHidden(cartBadge);
+    }
+
     /**
      * Click on cart icon
      */
@@ -100,6 +284,14 @@ public abstract class BasePage {
         clickElement(cartIcon);
     }
 
+    /**
+     * Go back to the previous page in the browser history
+     */
+    public void navigateBack() {
+        driver.navigate().back();
+        PageState.advance();
+    }
+
     /**
      * Get page title
      */
@@ -120,4 +312,54 @@ public abstract class BasePage {
     protected List<WebElement> findElements(By locator) {
         return driver.findElements(locator);
     }
+
+    /**
+     * Click every element matching a locator in one round trip and return how many were clicked
+     */
+    protected int clickAll(By locator) {
+        Object clicked = ((JavascriptExecutor) driver).executeScript(CLICK_ALL_SCRIPT,
+                ScriptLocator.using(locator), ScriptLocator.value(locator));
+        PageState.advance();
+        return ((Number) clicked).intValue();
+    }
+
+    /**
+     * Read the visible text of every element matching a CSS selector in one round trip
+     */
+    protected List<String> readTexts(String cssSelector) {
+        return readAll(cssSelector, Map.of("text", "")).stream()
+                .map(row -> row.get("text"))
+                .toList();
+    }
+
+    /**
+     * Read the visible text of every element matching a CSS selector once the list holding them is rendered
+     */
+    protected List<String> readTexts(By list, String cssSelector) {
+        waits.untilPresent(list);
+        return readTexts(cssSelector);
+    }
+
+    /**
+     * Read several fields from every element matching a CSS selector in one round trip
+     * Field selectors are relative to each matched element; "selector@attribute" reads an attribute
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, String>> readAll(String itemSelector, Map<String, String> fields) {
+        Object result = ((JavascriptExecutor) driver).executeScript(
+                BULK_READ_SCRIPT, itemSelector, new LinkedHashMap<>(fields));
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (Object row : (List<Object>) result) {
+            rows.add((Map<String, String>) row);
+        }
+        return rows;
+    }
+
+    /**
+     * Read several fields from the document in one round trip
+     */
+    protected Map<String, String> readFields(Map<String, String> fields) {
+        return readAll(":root", fields).get(0);
+    }
 }
\ No newline at end of file
@@ -2,8 +2,8 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for Swag Labs Shopping Cart page
@@ -12,18 +12,18 @@ import java.util.List;
 public class CartPage extends BasePage {
 
     // Locators
-    private final By pageTitle = By.className("title");
-    private final By cartItems = By.className("cart_item");
-    private final By cartItemNames = By.className("inventory_item_name");
-    private final By cartItemPrices = By.className("inventory_item_price");
-    private final By removeButtons = By.xpath("//button[contains(text(),'Remove')]");
-    private final By continueShoppingButton = By.id("continue-shopping");
-    private final By checkoutButton = By.id("checkout");
-    private final By emptyCartMessage = By.xpath("//div[@class='cart_list']");
-
-    // Dynamic locators
-    private final String removeItemByName = "//button[contains(@data-test, 'remove')]";
-    private final String cartItemByName = "//div[@class='inventory_item_name' and text()='%s']";
+    private final By pageTitle = Locators.TITLE;
+    private final By cartList = Locators.CART_LIST;
+    private final By cartItems = Locators.CART_ITEM;
+    private final By removeButtons = Locators.REMOVE_BUTTONS;
+    private final By continueShoppingButton = Locators.CONTINUE_SHOPPING;
+    private final By checkoutButton = Locators.CHECKOUT;
+
+    /**
+     * Snapshot of a single cart line
+     */
+    public record CartLine(String name, String price, String quantity) {
+    }
 
     public CartPage(WebDriver driver) {
         super(driver);
@@ -48,9 +48,20 @@ public class CartPage extends BasePage {
      * Get all items in cart
      */
     public List<String> getCartItemNames() {
-        return findElements(cartItemNames)
+        return readTexts(cartList, ".cart_item .inventory_item_name");
+    }
+
+    /**
+     * Get name, price and quantity of every cart line in one round trip
+     */
+    public List<CartLine> getCartLines() {
+        waits.untilPresent(cartList);
+        return readAll(".cart_item", Map.of(
+                        "name", ".inventory_item_name",
+                        "price", ".inventory_item_price",
+                        "quantity", ".cart_quantity"))
                 .stream()
-                .map(WebElement::getText)
+                .map(row -> new CartLine(row.get("name"), row.get("price"), row.get("quantity")))
                 .toList();
     }
 
@@ -58,6 +69,7 @@ public class CartPage extends BasePage {
      * Get number of items in cart
      */
     public int getCartItemCount() {
+        waits.untilPresent(cartList);
         return findElements(cartItems).size();
     }
 
@@ -65,16 +77,21 @@ public class CartPage extends BasePage {
      * Check if specific item is in cart
      */
     public boolean isItemInCart(String itemName) {
-        By itemLocator = By.xpath(String.format(cartItemByName, itemName));
-        return isElementDisplayed(itemLocator);
+        return isElementDisplayed(Locators.CART_ITEM_NAMED.with(itemName));
+    }
+
+    /**
+     * Check if specific item is absent from cart
+     */
+    public boolean isItemNotInCart(String itemName) {
+        return isElementHidden(Locators.CART_ITEM_NAMED.with(itemName));
     }
 
     /**
      * Remove specific item from cart
      */
     public void removeItemFromCart(String itemName) {
-        By removeButton = By.xpath(String.format(removeItemByName, itemName));
-        clickElement(removeButton);
+        clickElement(Locators.REMOVE.with(itemName));
     }
 
     /**
@@ -88,10 +105,11 @@ public class CartPage extends BasePage {
      * Get item price by name
      */
     public String getItemPrice(String itemName) {
-        By priceLocator = By.xpath(String.format(
-                "//div[text()='%s']/ancestor::div[@class='cart_item']//div[@class='inventory_item_price']",
-                itemName));
-        return getElementText(priceLocator);
+        return getCartLines().stream()
+                .filter(line -> line.name().equals(itemName))
+                .map(CartLine::price)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Item not found in cart: " + itemName));
     }
 
     /**
@@ -117,17 +135,12 @@ public class CartPage extends BasePage {
 
     /**
      * Remove all items from cart
+     * Clicks every Remove button in a single script call, then waits for the cart to actually empty
      */
     public void removeAllItems() {
-        List<WebElement> removeButtonsList = findElements(removeButtons);
-        for (WebElement button : removeButtonsList) {
-            button.click();
-            // Wait a moment for DOM to update
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        if (clickAll(removeButtons) > 0) {
+            waits.untilAbsent(cartItems);
+            waits.untilAbsent(cartBadge);
         }
     }
 
@@ -135,7 +148,7 @@ public class CartPage extends BasePage {
      * Check if checkout button is enabled
      */
     public boolean isCheckoutButtonEnabled() {
-        return driver.findElement(checkoutButton).isEnabled();
+        return waitForElement(checkoutButton).isEnabled();
     }
 
     /**
@@ -2,8 +2,10 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
+import utils.PageState;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for Swag Labs Checkout process
@@ -12,27 +14,34 @@ import java.util.List;
 public class CheckoutPage extends BasePage {
 
     // Checkout Information Page Locators
-    private final By pageTitle = By.className("title");
-    private final By firstNameField = By.id("first-name");
-    private final By lastNameField = By.id("last-name");
-    private final By postalCodeField = By.id("postal-code");
-    private final By continueButton = By.id("continue");
-    private final By cancelButton = By.id("cancel");
-    private final By errorMessage = By.cssSelector("[data-test='error']");
+    private final By pageTitle = Locators.TITLE;
+    private final By firstNameField = Locators.FIRST_NAME;
+    private final By lastNameField = Locators.LAST_NAME;
+    private final By postalCodeField = Locators.POSTAL_CODE;
+    private final By continueButton = Locators.CONTINUE;
+    private final By cancelButton = Locators.CANCEL;
+    private final By errorMessage = Locators.ERROR_MESSAGE;
 
     // Checkout Overview Page Locators
-    private final By summaryItems = By.className("cart_item");
-    private final By summaryItemNames = By.className("inventory_item_name");
-    private final By summaryItemPrices = By.className("inventory_item_price");
-    private final By summarySubTotal = By.className("summary_subtotal_label");
-    private final By summaryTax = By.className("summary_tax_label");
-    private final By summaryTotal = By.className("summary_total_label");
-    private final By finishButton = By.id("finish");
+    private final By summaryList = Locators.CART_LIST;
+    private final By summaryItems = Locators.CART_ITEM;
+    private final By summaryTotal = Locators.TOTAL;
+    private final By finishButton = Locators.FINISH;
 
     // Checkout Complete Page Locators
-    private final By completeHeader = By.className("complete-header");
-    private final By completeText = By.className("complete-text");
-    private final By backToProductsButton = By.id("back-to-products");
+    private final By completeHeader = Locators.COMPLETE_HEADER;
+    private final By completeText = Locators.COMPLETE_TEXT;
+    private final By backToProductsButton = Locators.BACK_TO_PRODUCTS;
+
+    // Order totals read in the current page state epoch - the subtotal, tax and total steps share one read
+    private OrderTotals orderTotals;
+    private long orderTotalsEpoch = -1;
+
+    /**
+     * Price summary shown on the checkout overview page
+     */
+    public record OrderTotals(String subTotal, String tax, String total) {
+    }
 
     public CheckoutPage(WebDriver driver) {
         super(driver);
@@ -66,30 +75,32 @@ public class CheckoutPage extends BasePage {
      * Fill in first name
      */
     public void enterFirstName(String firstName) {
-        typeText(firstNameField, firstName);
+        fillForm(Map.of(firstNameField, firstName));
     }
 
     /**
      * Fill in last name
      */
     public void enterLastName(String lastName) {
-        typeText(lastNameField, lastName);
+        fillForm(Map.of(lastNameField, lastName));
     }
 
     /**
      * Fill in postal code
      */
     public void enterPostalCode(String postalCode) {
-        typeText(postalCodeField, postalCode);
+        fillForm(Map.of(postalCodeField, postalCode));
     }
 
     /**
-     * Fill in all checkout information
+     * Fill in all checkout information in a single round trip
      */
     public void fillCheckoutInformation(String firstName, String lastName, String postalCode) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterPostalCode(postalCode);
+        Map<By, String> information = new LinkedHashMap<>();
+        information.put(firstNameField, firstName);
+        information.put(lastNameField, lastName);
+        information.put(postalCodeField, postalCode);
+        fillForm(information);
     }
 
     /**
@@ -133,10 +144,7 @@ public class CheckoutPage extends BasePage {
      * Get all items in checkout summary
      */
     public List<String> getSummaryItemNames() {
-        return findElements(summaryItemNames)
-                .stream()
-                .map(WebElement::getText)
-                .toList();
+        return readTexts(summaryList, ".cart_item .inventory_item_name");
     }
 
     /**
@@ -146,31 +154,51 @@ public class CheckoutPage extends BasePage {
         return getSummaryItemNames().contains(itemName);
     }
 
+    /**
+     * Get subtotal, tax and total with a single wait and a single read, unless the page has not changed since
+     */
+    public OrderTotals getOrderTotals() {
+        long epoch = PageState.current();
+        if (orderTotals != null && epoch == orderTotalsEpoch) {
+            return orderTotals;
+        }
+
+        waitForElement(summaryTotal);
+        Map<String, String> totals = readFields(Map.of(
+                "subTotal", ".summary_subtotal_label",
+                "tax", ".summary_tax_label",
+                "total", ".summary_total_label"));
+        orderTotals = new OrderTotals(totals.get("subTotal"), totals.get("tax"), totals.get("total"));
+        orderTotalsEpoch = epoch;
+        return orderTotals;
+    }
+
     /**
      * Get subtotal amount
      */
     public String getSubTotal() {
-        return getElementText(summarySubTotal);
+        return getOrderTotals().subTotal();
     }
 
     /**
      * Get tax amount
      */
     public String getTaxAmount() {
-        return getElementText(summaryTax);
+        return getOrderTotals().tax();
     }
 
     /**
      * Get total amount
      */
     public String getTotalAmount() {
-        return getElementText(summaryTotal);
+        return getOrderTotals().total();
     }
 
     /**
      * Get number of items in summary
      */
     public int getSummaryItemCount() {
+        waits.untilPresent(summaryList);
         return findElements(summaryItems).size();
     }
 
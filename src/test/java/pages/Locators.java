@@ -0,0 +1,118 @@
+package pages;
+
+import org.openqa.selenium.By;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Central locator registry for all page objects
+ * Locators are built once and prefer data-test CSS selectors, which the browser resolves through
+ * an attribute lookup instead of an XPath document scan. Locators that can only match on text
+ * still use XPath and are listed by {@link #getXPathFallbacks()}
+ */
+public final class Locators {
+
+    private static final Map<String, By> dataTestLocators = new ConcurrentHashMap<>();
+    private static final Map<String, String> xpathFallbacks = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Locator built per argument (e.g. a product name) and cached after the first use
+     */
+    public static final class Parameterized {
+        private final Function<String, By> factory;
+        private final Map<String, By> built = new ConcurrentHashMap<>();
+
+        private Parameterized(Function<String, By> factory) {
+            this.factory = factory;
+        }
+
+        public By with(String argument) {
+            return built.computeIfAbsent(argument, factory);
+        }
+    }
+
+    // Common
+    public static final By TITLE = dataTest("title");
+    public static final By CART_LINK = dataTest("shopping-cart-link");
+    public static final By CART_BADGE = dataTest("shopping-cart-badge");
+    public static final By MENU_BUTTON = By.id("react-burger-menu-btn");
+    public static final By ERROR_MESSAGE = dataTest("error");
+    public static final By ERROR_BUTTON = dataTest("error-button");
+
+    // Login
+    public static final By USERNAME = dataTest("username");
+    public static final By PASSWORD = dataTest("password");
+    public static final By LOGIN_BUTTON = dataTest("login-button");
+
+    // Inventory
+    // Cart rows carry data-test="inventory-item" as well, so tiles are matched inside the inventory list
+    public static final String INVENTORY_ITEM_SELECTOR = ".inventory_list .inventory_item";
+    public static final By INVENTORY_ITEM = By.cssSelector(INVENTORY_ITEM_SELECTOR);
+    public static final By SORT_DROPDOWN = dataTest("product-sort-container");
+    public static final Parameterized ADD_TO_CART = new Parameterized(name -> dataTest("add-to-cart-" + slug(name)));
+    public static final Parameterized REMOVE = new Parameterized(name -> dataTest("remove-" + slug(name)));
+    public static final Parameterized ITEM_TITLE_LINK = new Parameterized(id -> dataTest("item-" + id + "-title-link"));
+    public static final Parameterized PRODUCT_NAMED = xpath("product by name",
+            "//div[@data-test='inventory-item-name' and text()='%s']");
+    public static final Parameterized SORT_OPTION = xpath("sort option by label",
+            "//select[@data-test='product-sort-container']/option[text()='%s']");
+
+    // Cart
+    public static final By CART_LIST = dataTest("cart-list");
+    public static final By CART_ITEM = By.cssSelector(".cart_item");
+    public static final By REMOVE_BUTTONS = By.cssSelector("button[data-test^='remove-']");
+    public static final By CONTINUE_SHOPPING = dataTest("continue-shopping");
+    public static final By CHECKOUT = dataTest("checkout");
+    public static final Parameterized CART_ITEM_NAMED = xpath("cart item by name",
+            "//div[@class='cart_item']//div[@data-test='inventory-item-name' and text()='%s']");
+
+    // Checkout
+    public static final By FIRST_NAME = dataTest("firstName");
+    public static final By LAST_NAME = dataTest("lastName");
+    public static final By POSTAL_CODE = dataTest("postalCode");
+    public static final By CONTINUE = dataTest("continue");
+    public static final By CANCEL = dataTest("cancel");
+    public static final By SUBTOTAL = dataTest("subtotal-label");
+    public static final By TAX = dataTest("tax-label");
+    public static final By TOTAL = dataTest("total-label");
+    public static final By FINISH = dataTest("finish");
+    public static final By COMPLETE_HEADER = dataTest("complete-header");
+    public static final By COMPLETE_TEXT = dataTest("complete-text");
+    public static final By BACK_TO_PRODUCTS = dataTest("back-to-products");
+
+    private Locators() {
+    }
+
+    /**
+     * Get the CSS locator for a data-test attribute value
+     */
+    public static By dataTest(String value) {
+        return dataTestLocators.computeIfAbsent(value,
+                key -> By.cssSelector("[data-test='" + key.replace("'", "\\'") + "']"));
+    }
+
+    /**
+     * Convert a product name to the slug Swag Labs uses in its data-test ids
+     * e.g. "Sauce Labs Backpack" -> "sauce-labs-backpack"
+     */
+    public static String slug(String name) {
+        return name.replaceAll("\\s", "-").toLowerCase();
+    }
+
+    /**
+     * Get the locators that still fall back to XPath text matching, by description
+     */
+    public static Map<String, String> getXPathFallbacks() {
+        synchronized (xpathFallbacks) {
+            return new LinkedHashMap<>(xpathFallbacks);
+        }
+    }
+
+    private static Parameterized xpath(String description, String template) {
+        xpathFallbacks.put(description, template);
+        return new Parameterized(argument -> By.xpath(String.format(template, argument)));
+    }
+}
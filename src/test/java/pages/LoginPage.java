@@ -2,18 +2,19 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import utils.ConfigReader;
+import utils.PageState;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LoginPage extends BasePage {
 
     // Locators
-    private final By usernameField = By.id("user-name");
-    private final By passwordField = By.id("password");
-    private final By loginButton = By.id("login-button");
-    private final By errorMessage = By.cssSelector("[data-test='error']");
-    private final By errorButton = By.className("error-button");
-
-    // Page URL
-    private final String LOGIN_URL = "https://www.saucedemo.com/";
+    private final By usernameField = Locators.USERNAME;
+    private final By passwordField = Locators.PASSWORD;
+    private final By loginButton = Locators.LOGIN_BUTTON;
+    private final By errorMessage = Locators.ERROR_MESSAGE;
+    private final By errorButton = Locators.ERROR_BUTTON;
 
     public LoginPage(WebDriver driver) {
         super(driver);
@@ -23,21 +24,22 @@ public class LoginPage extends BasePage {
      * Navigate to login page
      */
     public void navigateToLoginPage() {
-        driver.get(LOGIN_URL);
+        driver.get(ConfigReader.getBaseUrl());
+        PageState.advance();
     }
 
     /**
      * Enter username
      */
     public void enterUsername(String username) {
-        typeText(usernameField, username);
+        fillForm(Map.of(usernameField, username));
     }
 
     /**
      * Enter password
      */
     public void enterPassword(String password) {
-        typeText(passwordField, password);
+        fillForm(Map.of(passwordField, password));
     }
 
     /**
@@ -49,10 +51,13 @@ public class LoginPage extends BasePage {
 
     /**
      * Perform complete login action
+     * Both credentials are filled in a single round trip
      */
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        fillForm(credentials);
         clickLoginButton();
     }
 
@@ -61,7 +66,7 @@ public class LoginPage extends BasePage {
      */
     public boolean isLoginPageDisplayed() {
         return isElementDisplayed(loginButton) &&
-                getCurrentUrl().contains("saucedemo.com");
+                getCurrentUrl().startsWith(ConfigReader.getBaseUrl());
     }
 
     /**
@@ -78,11 +83,18 @@ public class LoginPage extends BasePage {
         return isElementDisplayed(errorMessage);
     }
 
+    /**
+     * Check if error message is hidden
+     */
+    public boolean isErrorMessageHidden() {
+        return isElementHidden(errorMessage);
+    }
+
     /**
      * Clear error message by clicking X button
      */
     public void clearErrorMessage() {
-        if (isElementDisplayed(errorButton)) {
+        if (isElementPresent(errorButton)) {
             clickElement(errorButton);
         }
     }
@@ -91,13 +103,13 @@ public class LoginPage extends BasePage {
      * Check if username field is empty
      */
     public boolean isUsernameFieldEmpty() {
-        return driver.findElement(usernameField).getAttribute("value").isEmpty();
+        return waitForElement(usernameField).getAttribute("value").isEmpty();
     }
 
     /**
      * Check if password field is empty
      */
     public boolean isPasswordFieldEmpty() {
-        return driver.findElement(passwordField).getAttribute("value").isEmpty();
+        return waitForElement(passwordField).getAttribute("value").isEmpty();
     }
 }
\ No newline at end of file
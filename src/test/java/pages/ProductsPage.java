@@ -2,8 +2,10 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
+import utils.PageState;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for Swag Labs Products page
@@ -12,18 +14,39 @@ import java.util.List;
 public class ProductsPage extends BasePage {
 
     // Locators
-    private final By pageTitle = By.className("title");
-    private final By productItems = By.className("inventory_item");
-    private final By productNames = By.className("inventory_item_name");
-    private final By productPrices = By.className("inventory_item_price");
-    private final By addToCartButtons = By.xpath("//button[contains(text(),'Add to cart')]");
-    private final By removeFromCartButtons = By.xpath("//button[contains(text(),'Remove')]");
-    private final By sortDropdown = By.className("product_sort_container");
-
-    // Dynamic locators - will be formatted with product name
-    private final String addToCartByProductName = "//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Add to cart']";
-    private final String removeFromCartByProductName = "//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Remove']";
-    private final String productLinkByName = "//div[text()='%s']";
+    private final By pageTitle = Locators.TITLE;
+    private final By productItems = Locators.INVENTORY_ITEM;
+    private final By sortDropdown = Locators.SORT_DROPDOWN;
+
+    // Inventory index - snapshot of every product tile, valid for one page state epoch
+    private Map<String, InventoryEntry> inventoryIndex = Map.of();
+    private long inventoryIndexEpoch = -1;
+
+    /**
+     * Snapshot of a single product tile on the inventory page
+     */
+    public record ProductTile(String name, String price, String buttonText) {
+        public boolean isInCart() {
+            return "Remove".equals(buttonText);
+        }
+    }
+
+    /**
+     * Indexed product tile
+     */
+    private record InventoryEntry(String name, String price, String itemId, boolean inCart) {
+        By addButton() {
+            return Locators.ADD_TO_CART.with(name);
+        }
+
+        By removeButton() {
+            return Locators.REMOVE.with(name);
+        }
+
+        By titleLink() {
+            return Locators.ITEM_TITLE_LINK.with(itemId);
+        }
+    }
 
     public ProductsPage(WebDriver driver) {
         super(driver);
@@ -48,9 +71,20 @@ public class ProductsPage extends BasePage {
      * Get all product names
      */
     public List<String> getAllProductNames() {
-        return findElements(productNames)
+        return readTexts(productItems, Locators.INVENTORY_ITEM_SELECTOR + " .inventory_item_name");
+    }
+
+    /**
+     * Get name, price and cart button state of every product in one round trip
+     */
+    public List<ProductTile> getProductTiles() {
+        waits.untilPresent(productItems);
+        return readAll(Locators.INVENTORY_ITEM_SELECTOR, Map.of(
+                        "name", ".inventory_item_name",
+                        "price", ".inventory_item_price",
+                        "button", "button"))
                 .stream()
-                .map(WebElement::getText)
+                .map(row -> new ProductTile(row.get("name"), row.get("price"), row.get("button")))
                 .toList();
     }
 
@@ -65,66 +99,103 @@ public class ProductsPage extends BasePage {
      * Add specific product to cart by name
      */
     public void addProductToCart(String productName) {
-        By addToCartButton = By.xpath(String.format(addToCartByProductName, productName));
-        clickElement(addToCartButton);
+        clickElement(inventoryEntry(productName).addButton());
     }
 
     /**
      * Remove specific product from cart by name
      */
     public void removeProductFromCart(String productName) {
-        By removeButton = By.xpath(String.format(removeFromCartByProductName, productName));
-        clickElement(removeButton);
+        clickElement(inventoryEntry(productName).removeButton());
     }
 
     /**
      * Click on product name to view details
      */
     public void clickProductName(String productName) {
-        By productLink = By.xpath(String.format(productLinkByName, productName));
-        clickElement(productLink);
+        clickElement(inventoryEntry(productName).titleLink());
     }
 
     /**
      * Check if product is in cart (Remove button visible)
+     * Asks the page rather than the inventory index, which only knows the state of its own snapshot
      */
     public boolean isProductInCart(String productName) {
-        By removeButton = By.xpath(String.format(removeFromCartByProductName, productName));
-        return isElementDisplayed(removeButton);
+        return isElementDisplayed(inventoryEntry(productName).removeButton());
+    }
+
+    /**
+     * Check if product is not in cart (Remove button hidden)
+     */
+    public boolean isProductNotInCart(String productName) {
+        return isElementHidden(inventoryEntry(productName).removeButton());
     }
 
     /**
      * Get product price by name
      */
     public String getProductPrice(String productName) {
-        By priceLocator = By.xpath(String.format(
-                "//div[text()='%s']/ancestor::div[@class='inventory_item']//div[@class='inventory_item_price']",
-                productName));
-        return getElementText(priceLocator);
+        return inventoryEntry(productName).price();
     }
 
     /**
      * Get total number of items in cart from all products
      */
     public int getTotalItemsInCart() {
-        return findElements(removeFromCartButtons).size();
+        return (int) indexInventory().values().stream().filter(InventoryEntry::inCart).count();
     }
 
     /**
      * Sort products by option
      */
     public void sortProducts(String sortOption) {
-        WebElement dropdown = driver.findElement(sortDropdown);
-        dropdown.click();
-        By option = By.xpath(String.format("//option[text()='%s']", sortOption));
-        clickElement(option);
+        clickElement(sortDropdown);
+        clickElement(Locators.SORT_OPTION.with(sortOption));
     }
 
     /**
      * Check if specific product is displayed
      */
     public boolean isProductDisplayed(String productName) {
-        By productLocator = By.xpath(String.format(productLinkByName, productName));
-        return isElementDisplayed(productLocator);
+        return isElementDisplayed(Locators.PRODUCT_NAMED.with(productName));
+    }
+
+    /**
+     * Look up a product in the inventory index
+     */
+    private InventoryEntry inventoryEntry(String productName) {
+        InventoryEntry entry = indexInventory().get(productName);
+        if (entry == null) {
+            throw new IllegalArgumentException("Product not found on the inventory page: " + productName);
+        }
+        return entry;
+    }
+
+    /**
+     * Snapshot every product tile in one round trip, unless the page has not changed since the last snapshot
+     */
+    private Map<String, InventoryEntry> indexInventory() {
+        long epoch = PageState.current();
+        if (epoch == inventoryIndexEpoch) {
+            return inventoryIndex;
+        }
+
+        waits.untilPresent(productItems);
+        Map<String, InventoryEntry> index = new LinkedHashMap<>();
+        for (Map<String, String> row : readAll(Locators.INVENTORY_ITEM_SELECTOR, Map.of(
+                "name", ".inventory_item_name",
+                "price", ".inventory_item_price",
+                "link", "a[id$='_title_link']@id",
+                "button", "button@data-test"))) {
+            String link = row.get("link");
+            String itemId = link == null ? null : link.substring("item_".length(), link.indexOf("_title_link"));
+            String buttonId = row.get("button");
+            index.put(row.get("name"), new InventoryEntry(row.get("name"), row.get("price"), itemId,
+                    buttonId != null && buttonId.startsWith("remove-")));
+        }
+
+        inventoryIndex = index;
+        inventoryIndexEpoch = epoch;
+        return index;
     }
 }
\ No newline at end of file
@@ -15,7 +15,8 @@ import org.junit.runner.RunWith;
                 "pretty",
                 "html:target/chrome-reports/html-report.tml",
                 "json:target/chrome-reports/cucumber.json",
-                "junit:target/chrome-reports/cucumber.xml"
+                "junit:target/chrome-reports/cucumber.xml",
+                "metrics.MetricsPlugin"
         },
         monochrome = true,
         tags = "@swag_labs"
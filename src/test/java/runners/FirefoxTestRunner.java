@@ -15,7 +15,8 @@ import org.junit.runner.RunWith;
                 "pretty",
                 "html:target/firefox-reports/html-report",
                 "json:target/firefox-reports/cucumber.json",
-                "junit:target/firefox-reports/cucumber.xml"
+                "junit:target/firefox-reports/cucumber.xml",
+                "metrics.MetricsPlugin"
         },
         monochrome = true,
         tags = "@swag_labs"
@@ -12,7 +12,8 @@ import org.junit.runner.RunWith;
         plugin = {
                 "pretty",
                 "io.cucumber.core.plugin.HtmlFormatter:target/cucumber-reports/cucumber-html-report.html",
-                "json:target/cucumber-reports/cucumber.json"
+                "json:target/cucumber-reports/cucumber.json",
+                "metrics.MetricsPlugin"
         },
         monochrome = true,
         tags = "@swag_labs"
@@ -1,8 +1,10 @@
 package steps;
 
 import io.cucumber.java.en.*;
+import utils.SessionSeeder.CheckoutStep;
 import utils.TestContext;
 import utils.TestDataManager;
+import java.util.List;
 import static org.junit.Assert.*;
 
 /**
@@ -126,31 +128,27 @@ public class CartSteps {
     @Then("I should not see backpack product in the cart")
     public void i_should_not_see_backpack_product_in_the_cart() {
         String itemName = testData.getBackpackName();
-        assertFalse("Item should not be in cart",
-                testContext.getCartPage().isItemInCart(itemName));
+        assertTrue("Item should not be in cart",
+                testContext.getCartPage().isItemNotInCart(itemName));
     }
 
     @Given("I have backpack product in my cart")
     public void i_have_backpack_product_in_my_cart() {
         String itemName = testData.getBackpackName();
-        testContext.getProductsPage().addProductToCart(itemName);
-        testContext.getProductsPage().clickCartIcon();
+        // Added to whatever is already in the cart, like the add button would
+        testContext.getSessionSeeder().addToCart(List.of(itemName));
+        testContext.getSessionSeeder().openCheckoutStep(CheckoutStep.CART);
         assertTrue("Item should be in cart",
                 testContext.getCartPage().isItemInCart(itemName));
+        testContext.setTestData(TestContext.CART_ITEMS, testContext.getCartPage().getCartItemNames());
     }
 
-    @Given("my cart is empty")
-    public void my_cart_is_empty() {
-        if (!testContext.getCartPage().isCartPageDisplayed()) {
-            testContext.getProductsPage().clickCartIcon();
-        }
-
-        if (!testContext.getCartPage().isCartEmpty()) {
-            testContext.getCartPage().removeAllItems();
-        }
-
-        assertTrue("Cart should be empty",
-                testContext.getCartPage().isCartEmpty());
+    @Given("I have the following products in my cart:")
+    public void i_have_the_following_products_in_my_cart(List<String> productNames) {
+        testContext.getSessionSeeder().seedCheckout(productNames, CheckoutStep.CART);
+        testContext.setTestData(TestContext.CART_ITEMS, productNames);
+        assertEquals("Cart should contain the seeded products",
+                productNames.size(), testContext.getCartPage().getCartItemCount());
     }
 
     // Keep backward compatibility methods for direct item names
@@ -2,6 +2,7 @@ package steps;
 
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
+import utils.SessionSeeder.CheckoutStep;
 import utils.TestContext;
 import java.util.List;
 import java.util.Map;
@@ -161,8 +162,8 @@ public class CheckoutSteps {
 
     @Given("I have items in my cart and proceed to checkout")
     public void i_have_items_in_my_cart_and_proceed_to_checkout() {
-        // This assumes items are already in cart
-        testContext.getCartPage().proceedToCheckout();
+        // This assumes items are already in cart - deep-link instead of clicking through the cart page
+        testContext.getSessionSeeder().openCheckoutStep(CheckoutStep.INFORMATION);
         assertTrue("Should be on checkout information page",
                 testContext.getCheckoutPage().isCheckoutInformationPageDisplayed());
     }
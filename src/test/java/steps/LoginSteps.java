@@ -30,6 +30,16 @@ public class LoginSteps {
                 testContext.getProductsPage().isProductsPageDisplayed());
     }
 
+    @Given("I am logged in as {string}")
+    public void i_am_logged_in_as(String username) {
+        // Fast path - seeds the session instead of driving the login form
+        testContext.getSessionSeeder().seedLogin(username);
+        testContext.setTestData(TestContext.CURRENT_USER, username);
+
+        assertTrue("Should be on products page after seeding the session",
+                testContext.getProductsPage().isProductsPageDisplayed());
+    }
+
     @Then("I should be redirected to the products page")
     public void i_should_be_redirected_to_the_products_page() {
         assertTrue("Should be redirected to products page",
@@ -85,7 +95,7 @@ public class LoginSteps {
 
     @Then("the error message should not be displayed")
     public void the_error_message_should_not_be_displayed() {
-        assertFalse("Error message should not be displayed",
-                testContext.getLoginPage().isErrorMessageDisplayed());
+        assertTrue("Error message should not be displayed",
+                testContext.getLoginPage().isErrorMessageHidden());
     }
 }
\ No newline at end of file
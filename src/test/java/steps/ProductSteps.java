@@ -37,14 +37,15 @@ public class ProductSteps {
 
     @Then("the cart badge should show {string} items")
     public void the_cart_badge_should_show_items(String expectedCount) {
+        testContext.getProductsPage().waitForCartBadgeCount(expectedCount);
         String actualCount = testContext.getProductsPage().getCartBadgeCount();
         assertEquals("Cart badge should show correct count", expectedCount, actualCount);
     }
 
     @Then("the cart badge should not be visible")
     public void the_cart_badge_should_not_be_visible() {
-        assertFalse("Cart badge should not be visible when cart is empty",
-                testContext.getProductsPage().isCartBadgeVisible());
+        assertTrue("Cart badge should not be visible when cart is empty",
+                testContext.getProductsPage().isCartBadgeHidden());
     }
 
     @Then("I should see the product details page")
@@ -76,7 +77,7 @@ public class ProductSteps {
     public void i_add_the_product_to_cart_from_details_page() {
         // This would require ProductDetailsPage implementation
         // For now, we'll navigate back to products and add the item
-        testContext.getDriver().navigate().back();
+        testContext.getProductsPage().navigateBack();
         String productName = testContext.getTestDataAsString(TestContext.CURRENT_PRODUCT);
         if (productName != null) {
             testContext.getProductsPage().addProductToCart(productName);
@@ -108,8 +109,8 @@ public class ProductSteps {
 
     @Then("the product {string} should not be in cart")
     public void the_product_should_not_be_in_cart(String productName) {
-        assertFalse("Product should not be in cart (Add to Cart button visible)",
-                testContext.getProductsPage().isProductInCart(productName));
+        assertTrue("Product should not be in cart (Add to Cart button visible)",
+                testContext.getProductsPage().isProductNotInCart(productName));
     }
 
     @When("I get the price of {string}")
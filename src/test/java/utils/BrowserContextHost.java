@@ -0,0 +1,161 @@
+package utils;
+
+import metrics.FlightEvents;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.ConverterFunctions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Chrome process hosting one isolated browser context per scenario
+ * A single host browser is launched per JVM. Each scenario gets a new CDP browser context
+ * (its own cookies, storage and cache) with one tab in it, and a lightweight WebDriver session
+ * attached to the host through its debugger address and switched to that tab. Every attached session
+ * has its own chromedriver, since a session's driver service is stopped when the session ends.
+ * Closing the scenario disposes of the context, so nothing leaks into the next one.
+ * Contexts and tabs are created and disposed with browser-level Target commands, sent over the host's
+ * DevTools connection without attaching it to a page session
+ */
+class BrowserContextHost {
+
+    private record ContextSession(String browserContextId, String targetId, ChromeDriverService service) {
+    }
+
+    private static final Map<WebDriver, ContextSession> contextSessions = new ConcurrentHashMap<>();
+    private static WebDriver host;
+    private static DevTools browserDevTools;
+    private static String debuggerAddress;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserContextHost::shutdown, "browser-context-host-shutdown"));
+    }
+
+    private BrowserContextHost() {
+    }
+
+    /**
+     * Check if the browser type can run in a shared host - CDP browser contexts need Chrome
+     */
+    static boolean supports(String browserType) {
+        return "chrome".equals(browserType) || "headless-chrome".equals(browserType);
+    }
+
+    /**
+     * Check if the driver is a session attached to a browser context of the host
+     */
+    static boolean owns(WebDriver driver) {
+        return contextSessions.containsKey(driver);
+    }
+
+    /**
+     * Create a new browser context in the host and return a session attached to its tab
+     */
+    static WebDriver open(String browserType) {
+        FlightEvents.DriverStartup event = new FlightEvents.DriverStartup();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            WebDriver driver = openContext(browserType);
+            succeeded = true;
+            return driver;
+        } finally {
+            DriverManager.commitStartupEvent(event, browserType, "context", succeeded);
+        }
+    }
+
+    private static WebDriver openContext(String browserType) {
+        String browserContextId;
+        String targetId;
+        synchronized (BrowserContextHost.class) {
+            DevTools devTools = getBrowserDevTools(browserType);
+            browserContextId = devTools.send(new Command<>("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false), ConverterFunctions.map("browserContextId", String.class)));
+            targetId = devTools.send(new Command<>("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", browserContextId),
+                    ConverterFunctions.map("targetId", String.class)));
+        }
+
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        WebDriver driver;
+        try {
+            driver = new ChromeDriver(service, options);
+            // ChromeDriver uses CDP target ids as window handles
+            driver.switchTo().window(targetId);
+        } catch (RuntimeException e) {
+            disposeContext(browserContextId);
+            service.stop();
+            throw e;
+        }
+        // The window belongs to the shared host, so it is not maximized per session
+        DriverManager.configureTimeouts(driver);
+        driver = DriverManager.decorate(driver);
+        contextSessions.put(driver, new ContextSession(browserContextId, targetId, service));
+        return driver;
+    }
+
+    /**
+     * Dispose of the scenario's browser context and stop the chromedriver attached to it
+     * No QUIT is sent - the context is closed through the host, and the session ends with its own driver service
+     */
+    static void close(WebDriver driver) {
+        ContextSession session = contextSessions.remove(driver);
+        if (session == null) {
+            return;
+        }
+        disposeContext(session.browserContextId());
+        try {
+            session.service().stop();
+        } catch (Exception e) {
+            System.err.println("Error while stopping browser context session driver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Launch the host on first use and return its DevTools connection to the browser target
+     * No page session is created on it, so commands sent through it are handled by the browser itself
+     */
+    private static synchronized DevTools getBrowserDevTools(String browserType) {
+        if (host == null) {
+            host = DriverManager.newDriver(browserType);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> chromeOptions = (Map<String, Object>) ((HasCapabilities) host).getCapabilities()
+                    .getCapability("goog:chromeOptions");
+            debuggerAddress = (String) chromeOptions.get("debuggerAddress");
+            browserDevTools = ((HasDevTools) DriverManager.unwrap(host)).getDevTools();
+            System.out.println("Browser context host running at " + debuggerAddress);
+        }
+        return browserDevTools;
+    }
+
+    private static synchronized void disposeContext(String browserContextId) {
+        try {
+            browserDevTools.send(new Command<>("Target.disposeBrowserContext",
+                    Map.of("browserContextId", browserContextId), ConverterFunctions.empty()));
+        } catch (Exception e) {
+            System.err.println("Failed to dispose browser context " + browserContextId + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized void shutdown() {
+        contextSessions.keySet().forEach(BrowserContextHost::close);
+        if (host != null) {
+            try {
+                host.quit();
+            } catch (Exception e) {
+                System.err.println("Error while quitting browser context host: " + e.getMessage());
+            }
+            ProfileTemplates.release(host);
+            host = null;
+            browserDevTools = null;
+        }
+    }
+}
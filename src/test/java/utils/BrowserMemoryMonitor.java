@@ -0,0 +1,155 @@
+package utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Browser memory monitoring utility class
+ * Samples the browser process tree behind a session (RSS from /proc, CPU time from ProcessHandle)
+ * and the page's JS heap, so long runs with reused browsers can recycle sessions before they bloat
+ *
+ * memory.monitor.enabled - sample after every scenario (default false)
+ * memory.max.rss.mb      - recycle a pooled session above this process tree RSS (default 1024, 0 disables)
+ * memory.max.heap.mb     - recycle a pooled session above this JS heap size (default 256, 0 disables)
+ */
+public class BrowserMemoryMonitor {
+
+    /**
+     * One sample of a browser session - pid, rss and heap are -1 when they could not be determined
+     */
+    public record MemorySample(long pid, int processCount, long rssKb, Duration cpuTime, long jsHeapUsedBytes) {
+
+        public boolean exceedsThresholds() {
+            long maxRssMb = ConfigReader.getLong("memory.max.rss.mb", 1024);
+            long maxHeapMb = ConfigReader.getLong("memory.max.heap.mb", 256);
+            return (maxRssMb > 0 && rssKb > maxRssMb * 1024)
+                    || (maxHeapMb > 0 && jsHeapUsedBytes > maxHeapMb * 1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Browser memory: pid %d, %d processes, RSS %.1f MB, CPU %.1f s, JS heap %.1f MB",
+                    pid, processCount, rssKb / 1024.0, cpuTime.toMillis() / 1000.0, jsHeapUsedBytes / 1024.0 / 1024.0);
+        }
+    }
+
+    // Browser pid per session, so the process table is only scanned once per session
+    private static final Map<WebDriver, Long> browserPids = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BrowserMemoryMonitor() {
+    }
+
+    /**
+     * Check if the monitor is switched on
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.getBoolean("memory.monitor.enabled", false);
+    }
+
+    /**
+     * Sample the browser process tree and JS heap behind a session
+     */
+    public static MemorySample sample(WebDriver driver) {
+        long pid = getBrowserPid(driver);
+        int processCount = 0;
+        long rssKb = -1;
+        Duration cpuTime = Duration.ZERO;
+
+        Optional<ProcessHandle> browser = pid > 0 ? ProcessHandle.of(pid) : Optional.empty();
+        if (browser.isPresent()) {
+            List<ProcessHandle> tree = Stream.concat(Stream.of(browser.get()), browser.get().descendants()).toList();
+            processCount = tree.size();
+            rssKb = 0;
+            for (ProcessHandle process : tree) {
+                rssKb += readRssKb(process.pid());
+                cpuTime = cpuTime.plus(process.info().totalCpuDuration().orElse(Duration.ZERO));
+            }
+        }
+        return new MemorySample(pid, processCount, rssKb, cpuTime, readJsHeapUsed(driver));
+    }
+
+    private static long getBrowserPid(WebDriver driver) {
+        WebDriver session = DriverManager.unwrap(driver);
+        Long cached = browserPids.get(session);
+        if (cached != null) {
+            return cached;
+        }
+        // A failed lookup is not cached, the browser may not have been up yet
+        Optional<Long> pid = findBrowserPid(session);
+        pid.ifPresent(found -> browserPids.put(session, found));
+        return pid.orElse(-1L);
+    }
+
+    /**
+     * Firefox reports its pid; Chromium browsers are found by the user data dir on their command line
+     */
+    private static Optional<Long> findBrowserPid(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities hasCapabilities)) {
+            return Optional.empty();
+        }
+        Capabilities capabilities = hasCapabilities.getCapabilities();
+        Object firefoxPid = capabilities.getCapability("moz:processID");
+        if (firefoxPid instanceof Number number) {
+            return Optional.of(number.longValue());
+        }
+
+        for (String vendor : List.of("chrome", "msedge")) {
+            if (capabilities.getCapability(vendor) instanceof Map<?, ?> details
+                    && details.get("userDataDir") instanceof String userDataDir) {
+                String flag = "--user-data-dir=" + userDataDir;
+                return ProcessHandle.allProcesses()
+                        .filter(process -> process.info().arguments()
+                                .map(arguments -> List.of(arguments).contains(flag)
+                                        && Stream.of(arguments).noneMatch(argument -> argument.startsWith("--type=")))
+                                .orElse(false))
+                        .map(ProcessHandle::pid)
+                        .findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static long readRssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(0L);
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc is not available on this platform
+            return 0;
+        }
+    }
+
+    /**
+     * Used JS heap of the current page - CDP where available, performance.memory otherwise
+     */
+    private static long readJsHeapUsed(WebDriver driver) {
+        try {
+            if (driver instanceof HasCdp cdp) {
+                Object used = cdp.executeCdpCommand("Runtime.getHeapUsage", Map.of()).get("usedSize");
+                return used instanceof Number number ? number.longValue() : -1;
+            }
+            Object used = ((JavascriptExecutor) driver).executeScript(
+                    "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : -1;");
+            return used instanceof Number number ? number.longValue() : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -1,4 +1,82 @@
 package utils;
 
+/**
+ * Configuration reader - resolves framework settings
+ * Looks up a system property first, then the matching environment variable
+ * (e.g. driver.pool.size -> DRIVER_POOL_SIZE), then the supplied default
+ */
 public class ConfigReader {
+
+    private ConfigReader() {
+    }
+
+    /**
+     * Get a setting as a string
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(toEnvironmentName(key));
+        }
+        if (value == null || value.isEmpty()) {
+            value = defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Get a setting as an integer
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be an integer but was: " + value, e);
+        }
+    }
+
+    /**
+     * Get a setting as a long
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be a number but was: " + value, e);
+        }
+    }
+
+    /**
+     * Get a setting as a boolean
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Get the application base URL, always ending with "/"
+     * With standin.enabled=true the embedded stand-in server is started and its loopback URL is used;
+     * with http.cache.mode=record|replay the base URL is routed through the caching proxy
+     */
+    public static String getBaseUrl() {
+        if (getBoolean("standin.enabled", false)) {
+            return StandInServer.start();
+        }
+        String baseUrl = getProperty("base.url", "https://www.saucedemo.com/");
+        baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        return HttpCacheProxy.getMode() == HttpCacheProxy.Mode.OFF ? baseUrl : HttpCacheProxy.start(baseUrl);
+    }
+
+    private static String toEnvironmentName(String key) {
+        return key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
 }
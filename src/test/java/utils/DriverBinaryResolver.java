@@ -0,0 +1,187 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Driver binary resolution utility class
+ * Resolves each driver binary once per JVM and browser family, either through
+ * WebDriverManager or - in offline mode - from a local driver manifest
+ */
+public class DriverBinaryResolver {
+
+    /**
+     * Resolved driver binary details for one browser family
+     * browserPath and browserVersion are null when the browser could not be located
+     */
+    public record ResolvedDriver(String browserFamily, String driverPath, String driverVersion,
+                                 String browserPath, String browserVersion) {
+    }
+
+    private static final Map<String, ResolvedDriver> resolvedDrivers = new ConcurrentHashMap<>();
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\d+(\\.\\d+)+");
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve the driver binary for a browser family (chrome, firefox, edge) and export its system property
+     * Only the first call per family does any work; later calls return the memoized result
+     */
+    public static ResolvedDriver resolve(String browserFamily) {
+        return resolvedDrivers.computeIfAbsent(browserFamily, family -> {
+            ResolvedDriver driver = isOfflineMode() ? resolveFromManifest(family) : resolveOnline(family);
+            if (driver.driverPath() != null) {
+                System.setProperty(getDriverSystemProperty(family), driver.driverPath());
+            }
+            if (!isOfflineMode() && ConfigReader.getBoolean("driver.manifest.record", false)) {
+                recordInManifest(driver);
+            }
+            return driver;
+        });
+    }
+
+    /**
+     * Check if offline mode is enabled - no network lookups, driver paths come from the manifest
+     */
+    public static boolean isOfflineMode() {
+        return ConfigReader.getBoolean("driver.offline", false);
+    }
+
+    /**
+     * Get the driver manifest location
+     */
+    public static Path getManifestPath() {
+        return Paths.get(ConfigReader.getProperty("driver.manifest", "drivers/driver-manifest.properties"));
+    }
+
+    private static ResolvedDriver resolveOnline(String family) {
+        WebDriverManager manager = switch (family) {
+            case "chrome" -> WebDriverManager.chromedriver();
+            case "firefox" -> WebDriverManager.firefoxdriver();
+            case "edge" -> WebDriverManager.edgedriver();
+            default -> throw new IllegalArgumentException("Unknown browser family: " + family);
+        };
+        manager.setup();
+
+        String browserPath = manager.getBrowserPath().map(Path::toString).orElse(null);
+        return new ResolvedDriver(family,
+                manager.getDownloadedDriverPath(),
+                manager.getDownloadedDriverVersion(),
+                browserPath,
+                detectBrowserVersion(browserPath));
+    }
+
+    private static ResolvedDriver resolveFromManifest(String family) {
+        Properties manifest = loadManifest();
+        String driverPath = manifest.getProperty(family + ".driver.path");
+        if (driverPath == null || driverPath.isEmpty()) {
+            throw new IllegalStateException("Offline mode is enabled but " + getManifestPath()
+                    + " has no " + family + ".driver.path entry");
+        }
+        if (!Files.isExecutable(Paths.get(driverPath))) {
+            throw new IllegalStateException("Driver binary from manifest is not executable: " + driverPath);
+        }
+
+        String browserPath = manifest.getProperty(family + ".browser.path");
+        if (browserPath != null && !Files.isExecutable(Paths.get(browserPath))) {
+            throw new IllegalStateException("Browser binary from manifest is not executable: " + browserPath);
+        }
+        String browserVersion = manifest.getProperty(family + ".browser.version");
+        return new ResolvedDriver(family,
+                driverPath,
+                manifest.getProperty(family + ".driver.version"),
+                browserPath,
+                browserVersion != null ? browserVersion : detectBrowserVersion(browserPath));
+    }
+
+    /**
+     * Ask the browser binary for its version - Chrome, Edge and Firefox all print it for --version
+     * Returns null when there is no binary or the output has no version number in it
+     */
+    private static String detectBrowserVersion(String browserPath) {
+        if (browserPath == null) {
+            return null;
+        }
+        try {
+            Process process = new ProcessBuilder(browserPath, "--version").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? matcher.group() : null;
+        } catch (IOException e) {
+            System.err.println("Failed to detect the version of " + browserPath + ": " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        Path path = getManifestPath();
+        if (Files.exists(path)) {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                manifest.load(inputStream);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load driver manifest " + path, e);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Write an online resolution into the manifest so it can be shipped to offline agents
+     */
+    private static synchronized void recordInManifest(ResolvedDriver driver) {
+        Properties manifest = loadManifest();
+        String family = driver.browserFamily();
+        setIfPresent(manifest, family + ".driver.path", driver.driverPath());
+        setIfPresent(manifest, family + ".driver.version", driver.driverVersion());
+        setIfPresent(manifest, family + ".browser.path", driver.browserPath());
+        setIfPresent(manifest, family + ".browser.version", driver.browserVersion());
+
+        Path path = getManifestPath();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                manifest.store(outputStream, "Driver binaries resolved by DriverBinaryResolver");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to record driver manifest: " + e.getMessage());
+        }
+    }
+
+    private static void setIfPresent(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    private static String getDriverSystemProperty(String family) {
+        return switch (family) {
+            case "chrome" -> "webdriver.chrome.driver";
+            case "firefox" -> "webdriver.gecko.driver";
+            case "edge" -> "webdriver.edge.driver";
+            default -> throw new IllegalArgumentException("Unknown browser family: " + family);
+        };
+    }
+}
@@ -1,15 +1,34 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import metrics.CommandTimingListener;
+import metrics.FlightEvents;
+import metrics.FlightRecorderListener;
+import metrics.Metrics;
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.firefox.FirefoxProfile;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * WebDriver management utility class
@@ -17,69 +36,263 @@ import java.time.Duration;
  */
 public class DriverManager {
 
-    private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+    // Other async scripts (e.g. page timings waiting for the load event) keep at least this long
+    private static final Duration MIN_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Map<String, Object> FIREFOX_PREFERENCES = new LinkedHashMap<>();
+
+    static {
+        // Firefox-specific configurations
+        FIREFOX_PREFERENCES.put("dom.webnotifications.enabled", false);
+        FIREFOX_PREFERENCES.put("media.volume_scale", "0.0");
+        FIREFOX_PREFERENCES.put("browser.safebrowsing.malware.enabled", false);
+        FIREFOX_PREFERENCES.put("browser.safebrowsing.phishing.enabled", false);
+        FIREFOX_PREFERENCES.put("browser.download.folderList", 2);
+        FIREFOX_PREFERENCES.put("browser.download.manager.showWhenStarting", false);
+        FIREFOX_PREFERENCES.put("browser.download.dir", System.getProperty("java.io.tmpdir"));
+        FIREFOX_PREFERENCES.put("browser.helperApps.neverAsk.saveToDisk",
+                "application/zip,application/octet-stream,application/x-zip,application/x-zip-compressed,text/css,text/html,text/plain,text/xml,text/comma-separated-values");
+
+        // Performance optimizations
+        FIREFOX_PREFERENCES.put("network.http.pipelining", true);
+        FIREFOX_PREFERENCES.put("network.http.proxy.pipelining", true);
+        FIREFOX_PREFERENCES.put("network.http.pipelining.maxrequests", 8);
+        FIREFOX_PREFERENCES.put("content.notify.interval", 500000);
+        FIREFOX_PREFERENCES.put("content.notify.ontimer", true);
+        FIREFOX_PREFERENCES.put("content.switch.threshold", 250000);
+    }
 
     /**
      * Initialize WebDriver based on browser type
+     * In pooled session mode a warm session is taken from the pool instead of launching a new browser;
+     * in pipelined mode a fresh browser that was launched in the background is claimed, and in contexts
+     * mode the scenario gets an isolated browser context inside one shared browser process
      */
     public static void initializeDriver(String browserType) {
-        WebDriver driver = createDriver(browserType.toLowerCase());
-        configureDriver(driver);
+        String type = browserType.toLowerCase();
+        WebDriver driver = switch (getSessionMode()) {
+            case "pooled" -> claimSession(type, () -> DriverPool.acquire(type));
+            case "pipelined" -> claimSession(type, () -> DriverPipeline.claim(type));
+            case "contexts" -> openBrowserContext(type);
+            default -> newDriver(type);
+        };
         driverThreadLocal.set(driver);
     }
 
+    /**
+     * Take a session from the pool or the pipeline, recorded as a "claim" driver startup event so the
+     * time the scenario waits for it is attributed to driver startup
+     */
+    private static WebDriver claimSession(String browserType, Supplier<WebDriver> source) {
+        FlightEvents.DriverStartup event = new FlightEvents.DriverStartup();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            WebDriver driver = source.get();
+            succeeded = true;
+            return driver;
+        } finally {
+            commitStartupEvent(event, browserType, "claim", succeeded);
+        }
+    }
+
+    /**
+     * Open a browser context in the shared host, or a fresh browser where contexts are not supported
+     */
+    private static WebDriver openBrowserContext(String browserType) {
+        if (BrowserContextHost.supports(browserType)) {
+            return BrowserContextHost.open(browserType);
+        }
+        System.err.println("Browser contexts are only supported for Chrome, starting a fresh " + browserType + " session");
+        return newDriver(browserType);
+    }
+
+    /**
+     * Launch and configure a brand new WebDriver session
+     */
+    static WebDriver newDriver(String browserType) {
+        FlightEvents.DriverStartup event = new FlightEvents.DriverStartup();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            WebDriver driver = createDriver(browserType);
+            configureDriver(driver);
+            succeeded = true;
+            return decorate(driver);
+        } finally {
+            commitStartupEvent(event, browserType, "launch", succeeded);
+        }
+    }
+
+    /**
+     * Commit a driver startup JFR event, if a recording is interested in it
+     */
+    static void commitStartupEvent(FlightEvents.DriverStartup event, String browserType, String kind, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.scenario = FlightEvents.getScenario();
+            event.browser = browserType;
+            event.kind = kind;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    /**
+     * Wrap a driver with the command timing and flight recorder listeners, as far as they are enabled
+     */
+    static WebDriver decorate(WebDriver driver) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (Metrics.isEnabled()) {
+            listeners.add(new CommandTimingListener());
+        }
+        if (FlightEvents.isEnabled()) {
+            listeners.add(new FlightRecorderListener());
+        }
+        if (listeners.isEmpty()) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+
+    /**
+     * Get the underlying browser driver of a decorated driver, e.g. for casts to ChromeDriver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver wrapsDriver ? unwrap(wrapsDriver.getWrappedDriver()) : driver;
+    }
+
     /**
      * Create WebDriver instance based on browser type
+     * With profile templates enabled each session starts from its own copy of a warmed profile
      */
     private static WebDriver createDriver(String browserType) {
-        WebDriver driver;
-
-        switch (browserType) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = getChromeOptions();
-                driver = new ChromeDriver(chromeOptions);
-                break;
-
-            case "headless-chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions headlessChromeOptions = getChromeOptions();
-                headlessChromeOptions.addArguments("--headless");
-                driver = new ChromeDriver(headlessChromeOptions);
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = getFirefoxOptions();
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "headless-firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions headlessFirefoxOptions = getFirefoxOptions();
-                headlessFirefoxOptions.addArguments("--headless");
-                driver = new FirefoxDriver(headlessFirefoxOptions);
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = getEdgeOptions();
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            default:
-                throw new IllegalArgumentException("Browser type not supported: " + browserType +
-                        ". Supported browsers: chrome, headless-chrome, firefox, headless-firefox, edge");
+        String browserFamily = getBrowserFamily(browserType);
+        DriverBinaryResolver.resolve(browserFamily);
+
+        MutableCapabilities options = switch (browserFamily) {
+            case "chrome" -> getChromeOptions();
+            case "firefox" -> getFirefoxOptions();
+            default -> getEdgeOptions();
+        };
+        if (browserType.startsWith("headless-")) {
+            addArguments(options, "--headless");
+        }
+
+        Path sessionProfile = null;
+        if (ProfileTemplates.isEnabled()) {
+            // Firefox preferences are written into the template, Chromium settings are all in the options
+            Object settings = "firefox".equals(browserFamily) ? FIREFOX_PREFERENCES : options.asMap();
+            sessionProfile = ProfileTemplates.newSessionProfile(browserFamily,
+                    getProfileFingerprint(browserFamily, settings), getProfileWarmUp(browserFamily));
+            if ("firefox".equals(browserFamily)) {
+                addArguments(options, "-profile", sessionProfile.toString());
+            } else {
+                addArguments(options, "--user-data-dir=" + sessionProfile);
+            }
+        } else if (options instanceof FirefoxOptions firefoxOptions) {
+            firefoxOptions.setProfile(getFirefoxProfile());
         }
 
+        WebDriver driver = switch (browserFamily) {
+            case "chrome" -> new ChromeDriver((ChromeOptions) options);
+            case "firefox" -> new FirefoxDriver((FirefoxOptions) options);
+            default -> new EdgeDriver((EdgeOptions) options);
+        };
+        if (sessionProfile != null) {
+            ProfileTemplates.bind(driver, sessionProfile);
+        }
         return driver;
     }
 
+    /**
+     * Map a browser type to the browser family its driver binary and profile template belong to
+     */
+    private static String getBrowserFamily(String browserType) {
+        return switch (browserType) {
+            case "chrome", "headless-chrome" -> "chrome";
+            case "firefox", "headless-firefox" -> "firefox";
+            case "edge" -> "edge";
+            default -> throw new IllegalArgumentException("Browser type not supported: " + browserType +
+                    ". Supported browsers: chrome, headless-chrome, firefox, headless-firefox, edge");
+        };
+    }
+
+    private static Consumer<Path> getProfileWarmUp(String browserFamily) {
+        return switch (browserFamily) {
+            case "chrome" -> DriverManager::warmUpChromeProfile;
+            case "firefox" -> DriverManager::warmUpFirefoxProfile;
+            default -> DriverManager::warmUpEdgeProfile;
+        };
+    }
+
+    private static void addArguments(MutableCapabilities options, String... arguments) {
+        if (options instanceof FirefoxOptions firefoxOptions) {
+            firefoxOptions.addArguments(arguments);
+        } else {
+            ((ChromiumOptions<?>) options).addArguments(arguments);
+        }
+    }
+
+    /**
+     * Describe what a profile template is built from, so a browser or driver upgrade or changed
+     * preferences get a fresh template
+     */
+    private static String getProfileFingerprint(String browserFamily, Object settings) {
+        DriverBinaryResolver.ResolvedDriver resolved = DriverBinaryResolver.resolve(browserFamily);
+        return resolved.browserPath() + "|" + resolved.browserVersion() + "|" + resolved.driverVersion() + "|" + settings;
+    }
+
+    /**
+     * Launch Chrome once on the empty template directory so first-run profile setup is done ahead of time
+     */
+    private static void warmUpChromeProfile(Path template) {
+        ChromeOptions options = getChromeOptions();
+        options.addArguments("--headless", "--user-data-dir=" + template);
+        new ChromeDriver(options).quit();
+    }
+
+    /**
+     * Launch Edge once on the empty template directory so first-run profile setup is done ahead of time
+     */
+    private static void warmUpEdgeProfile(Path template) {
+        EdgeOptions options = getEdgeOptions();
+        options.addArguments("--headless", "--user-data-dir=" + template);
+        new EdgeDriver(options).quit();
+    }
+
+    /**
+     * Write the Firefox preferences as user.js, then launch Firefox once so it builds the rest of the profile
+     */
+    private static void warmUpFirefoxProfile(Path template) {
+        String userJs = FIREFOX_PREFERENCES.entrySet().stream()
+                .map(preference -> "user_pref(\"" + preference.getKey() + "\", "
+                        + (preference.getValue() instanceof String value
+                                ? "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\""
+                                : preference.getValue())
+                        + ");")
+                .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        try {
+            Files.writeString(template.resolve("user.js"), userJs);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Firefox preferences to " + template, e);
+        }
+
+        FirefoxOptions options = getFirefoxOptions();
+        options.addArguments("--headless", "-profile", template.toString());
+        new FirefoxDriver(options).quit();
+    }
+
     /**
      * Configure Chrome options for Docker/CI environments
      */
     private static ChromeOptions getChromeOptions() {
         ChromeOptions options = new ChromeOptions();
+        String browserPath = DriverBinaryResolver.resolve("chrome").browserPath();
+        if (browserPath != null) {
+            options.setBinary(browserPath);
+        }
 
         // Essential for Docker environments
         options.addArguments("--no-sandbox");
@@ -98,7 +311,8 @@ public class DriverManager {
         // For Docker environments specifically
         if (isRunningInDocker()) {
             options.addArguments("--headless");
-            options.addArguments("--remote-debugging-port=9222");
+            // Let Chrome pick a free port so parallel workers don't collide
+            options.addArguments("--remote-debugging-port=0");
             options.addArguments("--disable-background-networking");
             options.addArguments("--disable-default-apps");
             options.addArguments("--disable-sync");
@@ -109,31 +323,19 @@ public class DriverManager {
 
     /**
      * Configure Firefox options
+     * The profile is added by createDriver, either from a template or as a FirefoxProfile
      */
     private static FirefoxOptions getFirefoxOptions() {
         FirefoxOptions options = new FirefoxOptions();
-        FirefoxProfile profile = new FirefoxProfile();
-
-        // Firefox-specific configurations
-        profile.setPreference("dom.webnotifications.enabled", false);
-        profile.setPreference("media.volume_scale", "0.0");
-        profile.setPreference("browser.safebrowsing.malware.enabled", false);
-        profile.setPreference("browser.safebrowsing.phishing.enabled", false);
-        profile.setPreference("browser.download.folderList", 2);
-        profile.setPreference("browser.download.manager.showWhenStarting", false);
-        profile.setPreference("browser.download.dir", System.getProperty("java.io.tmpdir"));
-        profile.setPreference("browser.helperApps.neverAsk.saveToDisk",
-                "application/zip,application/octet-stream,application/x-zip,application/x-zip-compressed,text/css,text/html,text/plain,text/xml,text/comma-separated-values");
-
-        // Performance optimizations
-        profile.setPreference("network.http.pipelining", true);
-        profile.setPreference("network.http.proxy.pipelining", true);
-        profile.setPreference("network.http.pipelining.maxrequests", 8);
-        profile.setPreference("content.notify.interval", 500000);
-        profile.setPreference("content.notify.ontimer", true);
-        profile.setPreference("content.switch.threshold", 250000);
+        String browserPath = DriverBinaryResolver.resolve("firefox").browserPath();
+        if (browserPath != null) {
+            options.setBinary(browserPath);
+        }
 
-        options.setProfile(profile);
+        // Request interception for resource blocking goes through BiDi, which has to be negotiated at startup
+        if (ResourceBlocker.getMode() != ResourceBlocker.Mode.OFF) {
+            options.setCapability("webSocketUrl", true);
+        }
 
         // For CI/Docker environments
         if (isRunningInCI() || isRunningInDocker()) {
@@ -145,11 +347,33 @@ public class DriverManager {
         return options;
     }
 
+    /**
+     * Build a FirefoxProfile with the framework preferences
+     * Selenium zips and uploads it with every new session, so it is only used without profile templates
+     */
+    private static FirefoxProfile getFirefoxProfile() {
+        FirefoxProfile profile = new FirefoxProfile();
+        FIREFOX_PREFERENCES.forEach((name, value) -> {
+            if (value instanceof Boolean flag) {
+                profile.setPreference(name, flag);
+            } else if (value instanceof Integer number) {
+                profile.setPreference(name, number);
+            } else {
+                profile.setPreference(name, String.valueOf(value));
+            }
+        });
+        return profile;
+    }
+
     /**
      * Configure Edge options
      */
     private static EdgeOptions getEdgeOptions() {
         EdgeOptions options = new EdgeOptions();
+        String browserPath = DriverBinaryResolver.resolve("edge").browserPath();
+        if (browserPath != null) {
+            options.setBinary(browserPath);
+        }
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--window-size=1920,1080");
@@ -165,9 +389,8 @@ public class DriverManager {
     /**
      * Configure common driver settings
      */
-    private static void configureDriver(WebDriver driver) {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+    static void configureDriver(WebDriver driver) {
+        configureTimeouts(driver);
 
         // Don't maximize in headless mode
         if (!isRunningInDocker() && !isRunningInCI()) {
@@ -175,6 +398,18 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Configure the session timeouts - also used for sessions attached to a shared browser, whose window is left alone
+     */
+    static void configureTimeouts(WebDriver driver) {
+        // No implicit wait - page objects wait explicitly through WaitEngine, so negative checks stay fast
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        // Observer-based waits run as async scripts, so the script timeout must outlast the longest wait
+        Duration longestWait = WaitEngine.getLongestTimeout().plus(SCRIPT_TIMEOUT_MARGIN);
+        driver.manage().timeouts().scriptTimeout(longestWait.compareTo(MIN_SCRIPT_TIMEOUT) > 0 ? longestWait : MIN_SCRIPT_TIMEOUT);
+    }
+
     /**
      * Get current WebDriver instance
      */
@@ -193,18 +428,45 @@ public class DriverManager {
         return driverThreadLocal.get() != null;
     }
 
+    /**
+     * Release WebDriver at the end of a scenario
+     * Pooled sessions are reset and returned to the pool, pipelined sessions are quit in the background,
+     * browser context sessions are detached and their context disposed, everything else is quit.
+     * recycleSession quits a pooled session instead of returning it (failed scenario, memory over threshold)
+     */
+    public static void releaseDriver(boolean recycleSession) {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        if (isPooledMode()) {
+            driverThreadLocal.remove();
+            DriverPool.release(driver, recycleSession);
+        } else if ("pipelined".equals(getSessionMode())) {
+            driverThreadLocal.remove();
+            DriverPipeline.retire(driver);
+        } else if (BrowserContextHost.owns(driver)) {
+            driverThreadLocal.remove();
+            BrowserContextHost.close(driver);
+        } else {
+            quitDriver();
+        }
+    }
+
     /**
      * Quit WebDriver and clean up
      */
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
+            DriverPool.evict(driver);
             try {
                 driver.quit();
             } catch (Exception e) {
                 System.err.println("Error while quitting driver: " + e.getMessage());
             } finally {
                 driverThreadLocal.remove();
+                ProfileTemplates.release(driver);
             }
         }
     }
@@ -252,6 +514,23 @@ public class DriverManager {
         return browser;
     }
 
+    /**
+     * Get session mode from system property or environment variable
+     * Supported modes: fresh (new browser per scenario), pooled (warm sessions reused across scenarios),
+     * pipelined (new browser per scenario, launched in the background ahead of time),
+     * contexts (isolated browser context per scenario inside one shared Chrome process)
+     */
+    public static String getSessionMode() {
+        return ConfigReader.getProperty("driver.session.mode", "fresh").toLowerCase();
+    }
+
+    /**
+     * Check if sessions are reused across scenarios - the only mode where recycling a session changes anything
+     */
+    public static boolean isPooledMode() {
+        return "pooled".equals(getSessionMode());
+    }
+
     /**
      * Print available browser options
      */
@@ -0,0 +1,118 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipelined WebDriver session factory, keyed by browser type
+ * Every scenario still gets a brand new browser, but the next one is launched in the background
+ * while the current scenario runs, and finished browsers are quit in the background as well.
+ * driver.pipeline.depth bounds how many sessions are launched ahead per browser type.
+ *
+ * The pipeline does not know which scenario is the last one, so every run (and every parallel worker)
+ * ends with depth browsers that were launched but never claimed. They are quit by the shutdown hook;
+ * the price is depth extra browser startups per run, and their memory until the JVM exits
+ */
+class DriverPipeline {
+
+    private static final Map<String, BlockingDeque<Future<WebDriver>>> pendingSessions = new ConcurrentHashMap<>();
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPipeline::shutdown, "driver-pipeline-shutdown"));
+    }
+
+    private DriverPipeline() {
+    }
+
+    /**
+     * Claim the next pre-launched session for the browser type, launching one inline if none is queued,
+     * and queue up the sessions for the scenarios that follow
+     */
+    static WebDriver claim(String browserType) {
+        BlockingDeque<Future<WebDriver>> pending = pendingSessions(browserType);
+        Future<WebDriver> next = pending.pollFirst();
+        refill(browserType);
+
+        if (next != null) {
+            try {
+                return next.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a pre-launched " + browserType + " session", e);
+            } catch (ExecutionException e) {
+                System.err.println("Pre-launched " + browserType + " session failed to start, launching inline: "
+                        + e.getCause().getMessage());
+            }
+        }
+        return DriverManager.newDriver(browserType);
+    }
+
+    /**
+     * Quit a finished session off the scenario's critical path
+     */
+    static void retire(WebDriver driver) {
+        launcher.submit(() -> quit(driver));
+    }
+
+    /**
+     * Number of sessions launched ahead per browser type - also the number of unclaimed browsers left at the end of a run
+     */
+    static int getDepth() {
+        return Math.max(1, ConfigReader.getInt("driver.pipeline.depth", 1));
+    }
+
+    private static synchronized void refill(String browserType) {
+        BlockingDeque<Future<WebDriver>> pending = pendingSessions(browserType);
+        while (pending.size() < getDepth()) {
+            pending.offerLast(launcher.submit(() -> DriverManager.newDriver(browserType)));
+        }
+    }
+
+    private static BlockingDeque<Future<WebDriver>> pendingSessions(String browserType) {
+        return pendingSessions.computeIfAbsent(browserType, type -> new LinkedBlockingDeque<>());
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Error while quitting pipelined driver: " + e.getMessage());
+        }
+        ProfileTemplates.release(driver);
+    }
+
+    /**
+     * Quit every session that was launched ahead but never claimed
+     */
+    private static void shutdown() {
+        pendingSessions.values().forEach(pending -> {
+            Future<WebDriver> session;
+            while ((session = pending.pollFirst()) != null) {
+                try {
+                    quit(session.get(30, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    session.cancel(true);
+                }
+            }
+        });
+        launcher.shutdown();
+        try {
+            launcher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
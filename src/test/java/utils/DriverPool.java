@@ -0,0 +1,137 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Pool of warm WebDriver sessions, keyed by browser type
+ * Sessions are reset between scenarios instead of being quit, and recycled
+ * after a configurable number of scenarios or whenever a scenario fails
+ */
+class DriverPool {
+
+    private static final Map<String, BlockingDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    /**
+     * Hand out an idle session for the browser type, starting a new one if none is available
+     */
+    static WebDriver acquire(String browserType) {
+        PooledSession session = idleSessions(browserType).pollFirst();
+        if (session == null) {
+            session = new PooledSession(browserType, DriverManager.newDriver(browserType));
+        }
+        leasedSessions.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Return a session to the pool, or quit it when it should be recycled
+     * The caller forces a recycle after a failed scenario or when the session has grown too large
+     */
+    static void release(WebDriver driver, boolean forceRecycle) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            quit(driver);
+            return;
+        }
+
+        session.scenariosRun++;
+        boolean recycle = forceRecycle || session.scenariosRun >= getMaxScenariosPerSession();
+        if (recycle || !reset(driver) || !idleSessions(session.browserType).offerFirst(session)) {
+            quit(driver);
+        }
+    }
+
+    /**
+     * Remove a session from the pool bookkeeping without returning it
+     */
+    static void evict(WebDriver driver) {
+        leasedSessions.remove(driver);
+    }
+
+    /**
+     * Wipe cookies, storage and extra windows, then park the session on about:blank
+     */
+    private static boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.err.println("Failed to reset pooled driver, recycling it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static BlockingDeque<PooledSession> idleSessions(String browserType) {
+        return idleSessions.computeIfAbsent(browserType,
+                type -> new LinkedBlockingDeque<>(getPoolSize()));
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Error while quitting pooled driver: " + e.getMessage());
+        }
+        ProfileTemplates.release(driver);
+    }
+
+    private static void shutdown() {
+        idleSessions.values().forEach(sessions -> {
+            PooledSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                quit(session.driver);
+            }
+        });
+        leasedSessions.keySet().forEach(DriverPool::quit);
+        leasedSessions.clear();
+    }
+
+    /**
+     * Maximum number of idle sessions kept per browser type
+     */
+    static int getPoolSize() {
+        return Math.max(1, ConfigReader.getInt("driver.pool.size", 4));
+    }
+
+    /**
+     * Number of scenarios a session may run before it is recycled
+     */
+    static int getMaxScenariosPerSession() {
+        return Math.max(1, ConfigReader.getInt("driver.pool.max.scenarios", 25));
+    }
+
+    private static class PooledSession {
+        private final String browserType;
+        private final WebDriver driver;
+        private int scenariosRun;
+
+        private PooledSession(String browserType, WebDriver driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+    }
+}
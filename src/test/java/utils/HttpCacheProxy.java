@@ -0,0 +1,280 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Record-and-replay HTTP cache for the application under test
+ * Runs as a loopback reverse proxy in front of the configured base URL. In record mode responses
+ * are fetched upstream and stored in a content-addressed store; in replay mode they are served
+ * from memory-mapped store files without any upstream call
+ *
+ * Store layout (http.cache.dir, default target/http-cache):
+ *   objects/&lt;sha-256&gt;  response bodies, one file per distinct body
+ *   index.tsv             method + path -> status, content type, redirect location, body hash
+ */
+public class HttpCacheProxy {
+
+    /**
+     * Proxy modes - off disables the proxy entirely
+     */
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private record CachedResponse(int status, String contentType, String location, String bodyHash) {
+    }
+
+    private static final List<String> FORWARDED_HEADERS = List.of("Accept", "Accept-Language", "User-Agent", "Cookie");
+
+    private static final Map<String, CachedResponse> index = new ConcurrentHashMap<>();
+    private static final Map<String, ByteBuffer> mappedBodies = new ConcurrentHashMap<>();
+    private static HttpServer server;
+    private static HttpClient upstreamClient;
+    private static String upstreamUrl;
+    private static String proxyUrl;
+    private static Mode mode;
+    private static Path storeRoot;
+
+    private HttpCacheProxy() {
+    }
+
+    /**
+     * Get the configured mode from http.cache.mode (off, record, replay)
+     */
+    public static Mode getMode() {
+        String configured = ConfigReader.getProperty("http.cache.mode", "off");
+        try {
+            return Mode.valueOf(configured.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown http.cache.mode '" + configured + "', expected one of "
+                    + Arrays.stream(Mode.values()).map(value -> value.name().toLowerCase()).toList(), e);
+        }
+    }
+
+    /**
+     * Start the proxy in front of the upstream base URL if it is not running yet and return the proxy base URL
+     */
+    public static synchronized String start(String upstreamBaseUrl) {
+        if (server != null) {
+            return proxyUrl;
+        }
+
+        mode = getMode();
+        upstreamUrl = upstreamBaseUrl;
+        storeRoot = Paths.get(ConfigReader.getProperty("http.cache.dir", "target/http-cache"));
+        upstreamClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try {
+            Files.createDirectories(storeRoot.resolve("objects"));
+            loadIndex();
+            server = HttpServer.create(new InetSocketAddress(loopback, ConfigReader.getInt("http.cache.port", 0)), 0);
+            server.createContext("/", HttpCacheProxy::handle);
+            server.setExecutor(Executors.newFixedThreadPool(8, runnable -> {
+                Thread thread = new Thread(runnable, "http-cache-proxy");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start HTTP cache proxy", e);
+        }
+
+        proxyUrl = "http://" + loopback.getHostAddress() + ":" + server.getAddress().getPort() + "/";
+        Runtime.getRuntime().addShutdownHook(new Thread(HttpCacheProxy::stop, "http-cache-proxy-shutdown"));
+        System.out.println("HTTP cache proxy (" + mode + ") running at " + proxyUrl + " for " + upstreamUrl);
+        return proxyUrl;
+    }
+
+    /**
+     * Stop the proxy
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            proxyUrl = null;
+            mappedBodies.clear();
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String pathAndQuery = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+            String key = exchange.getRequestMethod() + " " + pathAndQuery;
+
+            CachedResponse cached = index.get(key);
+            if (cached == null && mode == Mode.RECORD) {
+                record(exchange, key, pathAndQuery);
+                return;
+            }
+            if (cached == null) {
+                // Replay miss - never fall through to the network
+                exchange.sendResponseHeaders(504, -1);
+                return;
+            }
+            replay(exchange, cached);
+        }
+    }
+
+    /**
+     * Fetch a request from upstream and answer it - cacheable responses are stored and indexed first,
+     * everything else is passed through once without touching the store
+     */
+    private static void record(HttpExchange exchange, String key, String pathAndQuery) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstreamUrl + pathAndQuery.substring(1)))
+                .timeout(Duration.ofSeconds(30))
+                .method(exchange.getRequestMethod(), requestBody(exchange));
+        for (String header : FORWARDED_HEADERS) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = upstreamClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + pathAndQuery, e);
+        }
+
+        String location = response.headers().firstValue("Location")
+                .map(value -> value.startsWith(upstreamUrl) ? "/" + value.substring(upstreamUrl.length()) : value)
+                .orElse("");
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+
+        // Only cache what is safe to replay
+        if ("GET".equals(exchange.getRequestMethod()) && response.statusCode() < 500) {
+            CachedResponse cached = new CachedResponse(response.statusCode(), contentType, location,
+                    storeBody(response.body()));
+            index.put(key, cached);
+            appendToIndex(key, cached);
+            replay(exchange, cached);
+        } else {
+            respond(exchange, response.statusCode(), contentType, location, ByteBuffer.wrap(response.body()));
+        }
+    }
+
+    private static void replay(HttpExchange exchange, CachedResponse cached) throws IOException {
+        respond(exchange, cached.status(), cached.contentType(), cached.location(),
+                mappedBody(cached.bodyHash()).duplicate());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String location,
+                                ByteBuffer body) throws IOException {
+        if (!contentType.isEmpty()) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (!location.isEmpty()) {
+            exchange.getResponseHeaders().set("Location", location);
+        }
+
+        boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || body.remaining() == 0;
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.remaining());
+        if (!noBody) {
+            try (OutputStream outputStream = exchange.getResponseBody();
+                 WritableByteChannel channel = Channels.newChannel(outputStream)) {
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+        }
+    }
+
+    private static HttpRequest.BodyPublisher requestBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body);
+    }
+
+    /**
+     * Store a body under its SHA-256 hash - identical bodies are only written once
+     */
+    private static String storeBody(byte[] body) throws IOException {
+        String hash = sha256(body);
+        Path object = storeRoot.resolve("objects").resolve(hash);
+        if (!Files.exists(object)) {
+            Path temporary = Files.createTempFile(storeRoot, hash, ".tmp");
+            Files.write(temporary, body);
+            try {
+                Files.move(temporary, object);
+            } catch (IOException e) {
+                // Another worker stored the same content first
+                Files.deleteIfExists(temporary);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Memory-map a stored body once and share the read-only mapping between requests
+     */
+    private static ByteBuffer mappedBody(String hash) {
+        return mappedBodies.computeIfAbsent(hash, key -> {
+            try (FileChannel channel = FileChannel.open(storeRoot.resolve("objects").resolve(key), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map cached body " + key, e);
+            }
+        });
+    }
+
+    private static void loadIndex() throws IOException {
+        Path indexFile = storeRoot.resolve("index.tsv");
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length == 5) {
+                index.put(fields[0], new CachedResponse(Integer.parseInt(fields[1]), fields[2], fields[3], fields[4]));
+            }
+        }
+    }
+
+    private static synchronized void appendToIndex(String key, CachedResponse cached) throws IOException {
+        String line = String.join("\t", key, String.valueOf(cached.status()), cached.contentType(),
+                cached.location(), cached.bodyHash()) + System.lineSeparator();
+        Files.writeString(storeRoot.resolve("index.tsv"), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
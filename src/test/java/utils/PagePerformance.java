@@ -0,0 +1,139 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Web performance utility class
+ * Reads the Navigation Timing, Resource Timing, paint and largest contentful paint entries of the
+ * current document in one async script, once the document has finished loading. All times are in
+ * milliseconds relative to the start of the navigation, as reported by the browser
+ */
+public class PagePerformance {
+
+    private static final String CAPTURE_SCRIPT =
+            "var knownOrigin = arguments[0];" +
+            "var done = arguments[arguments.length - 1];" +
+            "if (knownOrigin !== null && performance.timeOrigin === knownOrigin) { done(null); return; }" +
+            "function plain(entry) { return entry.toJSON ? entry.toJSON() : entry; }" +
+            "function collect() {" +
+            "  var navigation = performance.getEntriesByType('navigation').map(plain)[0] || null;" +
+            // The URL the document was loaded from - location.href also follows client-side routes
+            "  var result = {" +
+            "    url: navigation ? navigation.name : location.href," +
+            "    timeOrigin: performance.timeOrigin," +
+            "    navigation: navigation," +
+            "    resources: performance.getEntriesByType('resource').map(plain)," +
+            "    paint: performance.getEntriesByType('paint').map(plain)," +
+            "    largestContentfulPaint: null" +
+            "  };" +
+            "  var types = window.PerformanceObserver && PerformanceObserver.supportedEntryTypes || [];" +
+            "  if (types.indexOf('largest-contentful-paint') < 0) { done(JSON.stringify(result)); return; }" +
+            "  var observer = new PerformanceObserver(function (list) {" +
+            "    var entries = list.getEntries();" +
+            "    if (entries.length) { result.largestContentfulPaint = plain(entries[entries.length - 1]); }" +
+            "  });" +
+            "  observer.observe({type: 'largest-contentful-paint', buffered: true});" +
+            // Buffered entries are delivered in a task after observe()
+            "  setTimeout(function () { observer.disconnect(); done(JSON.stringify(result)); }, 0);" +
+            "}" +
+            // loadEventEnd is only set once the load handlers have run
+            "if (document.readyState === 'complete') { setTimeout(collect, 0); }" +
+            "else { window.addEventListener('load', function () { setTimeout(collect, 0); }); }";
+
+    /**
+     * Timings of one document - LCP is null in browsers that don't report it (e.g. Firefox)
+     */
+    public record PageTimings(String url, double timeOrigin, Map<String, Object> navigation,
+                              List<Map<String, Object>> resources, Map<String, Double> paints,
+                              Double largestContentfulPaint, String rawJson) {
+
+        /**
+         * Time from the start of the navigation to the end of the load event
+         */
+        public double getLoadTimeMs() {
+            if (navigation == null) {
+                throw new IllegalStateException("No navigation timing reported for " + url);
+            }
+            return number(navigation.get("loadEventEnd")) - number(navigation.get("startTime"));
+        }
+
+        public Optional<Double> getFirstContentfulPaintMs() {
+            return Optional.ofNullable(paints.get("first-contentful-paint"));
+        }
+
+        public Optional<Double> getLargestContentfulPaintMs() {
+            return Optional.ofNullable(largestContentfulPaint);
+        }
+
+        /**
+         * Resources that took longer than the budget, slowest first, as name to duration
+         */
+        public Map<String, Double> getResourcesSlowerThan(double budgetMs) {
+            Map<String, Double> slow = new LinkedHashMap<>();
+            resources.stream()
+                    .filter(resource -> number(resource.get("duration")) > budgetMs)
+                    .sorted(Comparator.comparingDouble((Map<String, Object> resource) -> number(resource.get("duration"))).reversed())
+                    .forEach(resource -> slow.put(String.valueOf(resource.get("name")), number(resource.get("duration"))));
+            return slow;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Page timings for %s: load %.0f ms, FCP %s, LCP %s, %d resources",
+                    url, navigation == null ? Double.NaN : getLoadTimeMs(),
+                    getFirstContentfulPaintMs().map(ms -> String.format("%.0f ms", ms)).orElse("n/a"),
+                    getLargestContentfulPaintMs().map(ms -> String.format("%.0f ms", ms)).orElse("n/a"),
+                    resources.size());
+        }
+    }
+
+    private PagePerformance() {
+    }
+
+    /**
+     * Capture the timings of the current document
+     */
+    public static PageTimings capture(WebDriver driver) {
+        return captureIfNewDocument(driver, null).orElseThrow();
+    }
+
+    /**
+     * Capture the timings of the current document, unless it is the document of the previous capture
+     * Only one round trip either way - the browser compares the document's time origin
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<PageTimings> captureIfNewDocument(WebDriver driver, PageTimings previous) {
+        Object json = ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT,
+                previous == null ? null : previous.timeOrigin());
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> raw = new Json().toType((String) json, Json.MAP_TYPE);
+        Map<String, Double> paints = new LinkedHashMap<>();
+        for (Map<String, Object> paint : (List<Map<String, Object>>) raw.get("paint")) {
+            paints.put(String.valueOf(paint.get("name")), number(paint.get("startTime")));
+        }
+        Map<String, Object> largestContentfulPaint = (Map<String, Object>) raw.get("largestContentfulPaint");
+
+        return Optional.of(new PageTimings(
+                String.valueOf(raw.get("url")),
+                number(raw.get("timeOrigin")),
+                (Map<String, Object>) raw.get("navigation"),
+                (List<Map<String, Object>>) raw.get("resources"),
+                paints,
+                largestContentfulPaint == null ? null : number(largestContentfulPaint.get("startTime")),
+                (String) json));
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,29 @@
+package utils;
+
+/**
+ * Page state epoch utility class
+ * A per-thread counter that is advanced by every action that can change the page (clicks,
+ * navigation, seeded state). Anything read from the page can be cached against the current
+ * epoch and is stale as soon as the epoch moves on
+ */
+public class PageState {
+
+    private static final ThreadLocal<Long> epoch = ThreadLocal.withInitial(() -> 0L);
+
+    private PageState() {
+    }
+
+    /**
+     * Get the current page state epoch of this thread
+     */
+    public static long current() {
+        return epoch.get();
+    }
+
+    /**
+     * Mark the page as changed, invalidating everything cached against the previous epoch
+     */
+    public static void advance() {
+        epoch.set(epoch.get() + 1);
+    }
+}
@@ -0,0 +1,190 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Browser profile template cache
+ * A warmed profile is prepared once per JVM and browser family, and every session starts from
+ * its own copy of it instead of a profile that is rebuilt (and, for Firefox, zipped and sent
+ * over the driver channel) on each launch. Files the browser only ever reads are hardlinked,
+ * everything else is copied so sessions never write into the template.
+ * Template directories are named after a hash of everything that shapes them (browser and driver
+ * version, preferences), and are built in a scratch directory that is renamed into place once complete,
+ * so a changed setup gets a new template and concurrent JVMs never see a half-built one
+ *
+ * profile.template.enabled - use profile templates (default true)
+ * profile.template.tmpfs   - keep templates and session copies in /dev/shm when available (default false)
+ * profile.template.dir     - explicit root directory, overrides the tmpfs setting
+ */
+class ProfileTemplates {
+
+    // Read but never written by the browser, so safe to share between sessions
+    private static final Set<String> LINKABLE_FILES = Set.of("user.js");
+    // Per-process lock files a browser leaves behind
+    private static final Set<String> SKIPPED_FILES = Set.of("SingletonLock", "SingletonSocket", "SingletonCookie",
+            "lock", ".parentlock", "parent.lock");
+
+    private static final Map<String, Path> templates = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Path> sessionProfiles = new ConcurrentHashMap<>();
+    private static Path root;
+
+    private ProfileTemplates() {
+    }
+
+    /**
+     * Check if sessions should start from a profile template
+     */
+    static boolean isEnabled() {
+        return ConfigReader.getBoolean("profile.template.enabled", true);
+    }
+
+    /**
+     * Create a session profile directory from the browser family's template
+     * The fingerprint describes everything the template depends on; the template is prepared on first use
+     * of a fingerprint by the warm-up, which receives an empty directory
+     */
+    static Path newSessionProfile(String browserFamily, String fingerprint, Consumer<Path> warmUp) {
+        String templateName = browserFamily + "-" + hash(fingerprint);
+        Path template = templates.computeIfAbsent(templateName, name -> prepareTemplate(browserFamily, name, warmUp));
+        Path session = getRoot().resolve("sessions").resolve(browserFamily + "-" + UUID.randomUUID());
+        try {
+            copyTree(template, session);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create " + browserFamily + " session profile from " + template, e);
+        }
+        return session;
+    }
+
+    /**
+     * Associate a session profile with the driver that uses it, so it is deleted when the driver quits
+     */
+    static void bind(WebDriver driver, Path sessionProfile) {
+        sessionProfiles.put(driver, sessionProfile);
+    }
+
+    /**
+     * Delete the session profile of a driver that has quit
+     */
+    static void release(WebDriver driver) {
+        Path sessionProfile = sessionProfiles.remove(DriverManager.unwrap(driver));
+        if (sessionProfile != null) {
+            deleteTree(sessionProfile);
+        }
+    }
+
+    private static Path prepareTemplate(String browserFamily, String templateName, Consumer<Path> warmUp) {
+        Path templatesDirectory = getRoot().resolve("templates");
+        Path template = templatesDirectory.resolve(templateName);
+        if (Files.isDirectory(template)) {
+            return template;
+        }
+
+        long start = System.currentTimeMillis();
+        Path scratch = templatesDirectory.resolve(templateName + ".tmp-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(scratch);
+            warmUp.accept(scratch);
+            Files.move(scratch, template, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteTree(scratch);
+            // Another JVM finished the same template first
+            if (Files.isDirectory(template)) {
+                return template;
+            }
+            throw new UncheckedIOException("Failed to prepare " + browserFamily + " profile template", e);
+        } catch (RuntimeException e) {
+            deleteTree(scratch);
+            throw e;
+        }
+        System.out.println("Prepared " + browserFamily + " profile template in " + template
+                + " (" + (System.currentTimeMillis() - start) + " ms)");
+        return template;
+    }
+
+    private static String hash(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static synchronized Path getRoot() {
+        if (root == null) {
+            String configured = ConfigReader.getProperty("profile.template.dir", null);
+            Path shm = Paths.get("/dev/shm");
+            if (configured != null) {
+                root = Paths.get(configured);
+            } else if (ConfigReader.getBoolean("profile.template.tmpfs", false) && Files.isWritable(shm)) {
+                root = shm.resolve("swaglabs-profiles");
+            } else {
+                root = Paths.get(System.getProperty("java.io.tmpdir"), "swaglabs-profiles");
+            }
+            Path sessions = root.resolve("sessions");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(sessions), "profile-template-cleanup"));
+        }
+        return root;
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (SKIPPED_FILES.contains(name)) {
+                    continue;
+                }
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else if (Files.isRegularFile(path)) {
+                    if (LINKABLE_FILES.contains(name)) {
+                        linkOrCopy(path, copy);
+                    } else {
+                        Files.copy(path, copy);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file system or no hardlink support
+            Files.copy(source, target);
+        }
+    }
+
+    private static void deleteTree(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Failed to delete profile directory " + directory + ": " + e.getMessage());
+        }
+    }
+}
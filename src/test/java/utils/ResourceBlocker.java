@@ -0,0 +1,149 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.AddInterceptParameters;
+import org.openqa.selenium.bidi.network.ContinueRequestParameters;
+import org.openqa.selenium.bidi.network.InterceptPhase;
+import org.openqa.selenium.chromium.HasCdp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resource blocking utility class
+ * Short-circuits requests none of the assertions look at - web fonts, media and third-party
+ * beacons - through the DevTools network domain (Chrome, Edge) or BiDi request interception (Firefox)
+ * Images are never blocked by default so visual checks and screenshots keep working
+ *
+ * Selected by block.resources: tagged (default, only scenarios tagged @lean), all, or off
+ * Extra URL patterns can be added with block.resources.patterns (comma separated, * wildcards)
+ */
+public class ResourceBlocker {
+
+    public static final String LEAN_TAG = "@lean";
+
+    private static final List<String> BLOCKED_EXTENSIONS = List.of(
+            // Web fonts
+            "woff", "woff2", "ttf", "otf", "eot",
+            // Media
+            "mp4", "webm", "ogg", "mp3", "wav");
+
+    // Patterns match the whole URL, so each extension is blocked with and without a query string (font.woff?v=3)
+    private static final List<String> DEFAULT_PATTERNS = Stream.concat(
+            BLOCKED_EXTENSIONS.stream().flatMap(extension -> Stream.of("*." + extension, "*." + extension + "?*")),
+            // Analytics and error-reporting beacons
+            Stream.of("*backtrace.io*", "*google-analytics.com*", "*googletagmanager.com*",
+                    "*doubleclick.net*", "*sentry.io*", "*hotjar.com*"))
+            .toList();
+
+    private static final ThreadLocal<Runnable> activeBlock = new ThreadLocal<>();
+
+    private ResourceBlocker() {
+    }
+
+    /**
+     * Blocking modes - tagged only blocks for scenarios tagged @lean
+     */
+    public enum Mode { OFF, TAGGED, ALL }
+
+    /**
+     * Get the configured mode from block.resources (off, tagged, all)
+     */
+    public static Mode getMode() {
+        return Mode.valueOf(ConfigReader.getProperty("block.resources", "tagged").toUpperCase());
+    }
+
+    /**
+     * Check whether a scenario with the given tags should run with resources blocked
+     */
+    public static boolean isEnabledFor(Collection<String> scenarioTags) {
+        Mode mode = getMode();
+        return mode == Mode.ALL || (mode == Mode.TAGGED && scenarioTags.contains(LEAN_TAG));
+    }
+
+    /**
+     * Get the URL patterns to block - the defaults plus block.resources.patterns
+     */
+    public static List<String> getPatterns() {
+        List<String> patterns = new ArrayList<>(DEFAULT_PATTERNS);
+        Arrays.stream(ConfigReader.getProperty("block.resources.patterns", "").split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .forEach(patterns::add);
+        return patterns;
+    }
+
+    /**
+     * Start blocking on the current thread's driver until {@link #disable()} is called
+     */
+    public static void enable(WebDriver driver) {
+        disable();
+        List<String> patterns = getPatterns();
+
+        if (driver instanceof HasCdp cdpDriver) {
+            cdpDriver.executeCdpCommand("Network.enable", Map.of());
+            cdpDriver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+            activeBlock.set(() -> {
+                cdpDriver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", List.of()));
+                cdpDriver.executeCdpCommand("Network.disable", Map.of());
+            });
+        } else if (driver instanceof HasBiDi biDiDriver && biDiDriver.maybeGetBiDi().isPresent()) {
+            activeBlock.set(interceptWithBiDi(driver, patterns));
+        } else {
+            System.err.println("Resource blocking is not supported by " + driver.getClass().getSimpleName()
+                    + " (Firefox needs block.resources enabled before the session starts), skipping");
+        }
+    }
+
+    /**
+     * Stop blocking on the current thread's driver - pooled sessions must not carry it into the next scenario
+     */
+    public static void disable() {
+        Runnable unblock = activeBlock.get();
+        if (unblock == null) {
+            return;
+        }
+        activeBlock.remove();
+        try {
+            unblock.run();
+        } catch (Exception e) {
+            System.err.println("Failed to remove resource blocking: " + e.getMessage());
+        }
+    }
+
+    /**
+     * BiDi URL patterns have no wildcards, so every request is paused and matched here
+     */
+    private static Runnable interceptWithBiDi(WebDriver driver, List<String> patterns) {
+        Pattern blocked = Pattern.compile(patterns.stream()
+                .map(pattern -> Arrays.stream(pattern.split("\\*", -1))
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining(".*")))
+                .collect(Collectors.joining("|")));
+
+        Network network = new Network(driver);
+        String intercept = network.addIntercept(new AddInterceptParameters(InterceptPhase.BEFORE_REQUEST_SENT));
+        network.onBeforeRequestSent(event -> {
+            if (!event.isBlocked()) {
+                return;
+            }
+            String requestId = event.getRequest().getRequestId();
+            if (blocked.matcher(event.getRequest().getUrl()).matches()) {
+                network.failRequest(requestId);
+            } else {
+                network.continueRequest(new ContinueRequestParameters(requestId));
+            }
+        });
+        return () -> {
+            network.removeIntercept(intercept);
+            network.close();
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+import org.openqa.selenium.By;
+import java.util.Set;
+
+/**
+ * Translates Selenium locators into arguments for in-browser scripts
+ * Scripts that embed {@link #FIND_ALL_FUNCTION} can resolve any supported locator without
+ * an extra findElement round trip
+ */
+public final class ScriptLocator {
+
+    /**
+     * JavaScript function findAll(using, value) returning an array of matching elements
+     */
+    public static final String FIND_ALL_FUNCTION =
+            "function findAll(using, value) {" +
+            "  if (using === 'xpath') {" +
+            "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    var found = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }" +
+            "    return found;" +
+            "  }" +
+            "  var selector = using === 'id' ? '#' + CSS.escape(value)" +
+            "      : using === 'class name' ? '.' + CSS.escape(value)" +
+            "      : using === 'name' ? '[name=\"' + value.replace(/\"/g, '\\\\\"') + '\"]'" +
+            "      : value;" +
+            "  return Array.prototype.slice.call(document.querySelectorAll(selector));" +
+            "}";
+
+    private static final Set<String> SUPPORTED_STRATEGIES =
+            Set.of("css selector", "xpath", "id", "class name", "name", "tag name");
+
+    private ScriptLocator() {
+    }
+
+    /**
+     * Check if the locator can be resolved by {@link #FIND_ALL_FUNCTION}
+     */
+    public static boolean isSupported(By locator) {
+        return locator instanceof By.Remotable remotable
+                && SUPPORTED_STRATEGIES.contains(remotable.getRemoteParameters().using());
+    }
+
+    /**
+     * Get the strategy name passed as the first findAll argument
+     */
+    public static String using(By locator) {
+        return remoteParameters(locator).using();
+    }
+
+    /**
+     * Get the locator value passed as the second findAll argument
+     */
+    public static String value(By locator) {
+        return String.valueOf(remoteParameters(locator).value());
+    }
+
+    private static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!isSupported(locator)) {
+            throw new IllegalArgumentException("Locator cannot be resolved by script: " + locator);
+        }
+        return ((By.Remotable) locator).getRemoteParameters();
+    }
+}
@@ -0,0 +1,119 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Session state seeding utility class
+ * Writes the same session state the Swag Labs app writes itself, so scenarios can
+ * skip UI preconditions such as the login form
+ */
+public class SessionSeeder {
+
+    private static final String SESSION_COOKIE = "session-username";
+    private static final String CART_STORAGE_KEY = "cart-contents";
+
+    /**
+     * Appends product ids to the stored cart, skipping ids that are already in it
+     */
+    private static final String ADD_TO_CART_SCRIPT =
+            "var cart = JSON.parse(window.localStorage.getItem(arguments[0]) || '[]');" +
+            "for (var i = 0; i < arguments[1].length; i++) {" +
+            "  if (cart.indexOf(arguments[1][i]) < 0) { cart.push(arguments[1][i]); }" +
+            "}" +
+            "window.localStorage.setItem(arguments[0], JSON.stringify(cart));";
+
+    /**
+     * Pages of the shopping flow that can be opened directly once state is seeded
+     */
+    public enum CheckoutStep {
+        CART("cart.html"),
+        INFORMATION("checkout-step-one.html"),
+        OVERVIEW("checkout-step-two.html");
+
+        private final String path;
+
+        CheckoutStep(String path) {
+            this.path = path;
+        }
+    }
+
+    private final WebDriver driver;
+    private final TestDataManager testData;
+
+    public SessionSeeder(WebDriver driver) {
+        this.driver = driver;
+        this.testData = TestDataManager.getInstance();
+    }
+
+    /**
+     * Log in by writing the session cookie and opening the inventory page directly
+     * No credential check happens, so use the UI login for scenarios that test login itself
+     */
+    public void seedLogin(String username) {
+        openApplicationOrigin();
+        driver.manage().addCookie(new Cookie.Builder(SESSION_COOKIE, username)
+                .path("/")
+                .build());
+        driver.get(ConfigReader.getBaseUrl() + "inventory.html");
+        PageState.advance();
+    }
+
+    /**
+     * Replace the cart contents with the given products (names from test-data.properties)
+     */
+    public void seedCart(List<String> productNames) {
+        String cartContents = productNames.stream()
+                .map(name -> String.valueOf(testData.getProductId(name)))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        openApplicationOrigin();
+        ((JavascriptExecutor) driver).executeScript(
+                "window.localStorage.setItem(arguments[0], arguments[1]);", CART_STORAGE_KEY, cartContents);
+        PageState.advance();
+    }
+
+    /**
+     * Add products to the cart contents already in the browser, keeping what is there
+     */
+    public void addToCart(List<String> productNames) {
+        List<Integer> productIds = productNames.stream()
+                .map(testData::getProductId)
+                .toList();
+
+        openApplicationOrigin();
+        ((JavascriptExecutor) driver).executeScript(ADD_TO_CART_SCRIPT, CART_STORAGE_KEY, productIds);
+        PageState.advance();
+    }
+
+    /**
+     * Seed the cart and deep-link straight to a step of the shopping flow
+     * The app keeps no checkout form state, so the overview only needs the cart and a session
+     */
+    public void seedCheckout(List<String> productNames, CheckoutStep step) {
+        seedCart(productNames);
+        openCheckoutStep(step);
+    }
+
+    /**
+     * Deep-link to a step of the shopping flow using the state already in the browser
+     */
+    public void openCheckoutStep(CheckoutStep step) {
+        driver.get(ConfigReader.getBaseUrl() + step.path);
+        PageState.advance();
+    }
+
+    /**
+     * Cookies and storage can only be written once the browser is on the app's origin
+     */
+    private void openApplicationOrigin() {
+        String baseUrl = ConfigReader.getBaseUrl();
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+            PageState.advance();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded Swag Labs stand-in server
+ * Serves the static clone in src/test/resources/standin on the loopback interface, so the suite
+ * can run hermetically without reaching saucedemo.com
+ */
+public class StandInServer {
+
+    private static final String RESOURCE_ROOT = "standin";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "svg", "image/svg+xml");
+
+    private static final Map<String, byte[]> resourceCache = new ConcurrentHashMap<>();
+    private static HttpServer server;
+    private static String baseUrl;
+
+    private StandInServer() {
+    }
+
+    /**
+     * Start the server if it is not running yet and return its base URL
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try {
+            server = HttpServer.create(new InetSocketAddress(loopback, ConfigReader.getInt("standin.port", 0)), 0);
+            server.createContext("/", StandInServer::handle);
+            server.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+                Thread thread = new Thread(runnable, "standin-server");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start Swag Labs stand-in server", e);
+        }
+
+        baseUrl = "http://" + loopback.getHostAddress() + ":" + server.getAddress().getPort() + "/";
+        Runtime.getRuntime().addShutdownHook(new Thread(StandInServer::stop, "standin-server-shutdown"));
+        System.out.println("Swag Labs stand-in server running at " + baseUrl);
+        return baseUrl;
+    }
+
+    /**
+     * Stop the server
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            baseUrl = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            // Every page is rendered client-side by the same shell, like the real single page app
+            String resource = path.startsWith("/static/") ? path.substring(1)
+                    : path.equals("/") || path.endsWith(".html") ? "index.html"
+                    : null;
+
+            byte[] body = resource == null ? null : loadResource(resource);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String extension = resource.substring(resource.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+
+    private static byte[] loadResource(String resource) throws IOException {
+        if (resource.contains("..")) {
+            return null;
+        }
+        byte[] cached = resourceCache.get(resource);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream inputStream = StandInServer.class.getClassLoader()
+                .getResourceAsStream(RESOURCE_ROOT + "/" + resource)) {
+            if (inputStream == null) {
+                return null;
+            }
+            byte[] body = inputStream.readAllBytes();
+            resourceCache.put(resource, body);
+            return body;
+        }
+    }
+}
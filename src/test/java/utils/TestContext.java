@@ -2,19 +2,26 @@ package utils;
 
 import pages.*;
 import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Scenario-scoped state shared between step definitions
+ * PicoContainer creates a fresh instance per scenario, so parallel workers never share one
+ */
 public class TestContext {
 
     private WebDriver driver;
-    private Map<String, Object> testData;
+    private final Map<String, Object> testData;
 
     // Page Objects
     private LoginPage loginPage;
     private ProductsPage productsPage;
     private CartPage cartPage;
     private CheckoutPage checkoutPage;
+    private SessionSeeder sessionSeeder;
 
     public TestContext() {
         this.testData = new HashMap<>();
@@ -26,6 +33,7 @@ public class TestContext {
         this.productsPage = new ProductsPage(driver);
         this.cartPage = new CartPage(driver);
         this.checkoutPage = new CheckoutPage(driver);
+        this.sessionSeeder = new SessionSeeder(driver);
     }
 
     // Getters for Page Objects
@@ -57,6 +65,13 @@ public class TestContext {
         return checkoutPage;
     }
 
+    public SessionSeeder getSessionSeeder() {
+        if (sessionSeeder == null) {
+            initializePages();
+        }
+        return sessionSeeder;
+    }
+
     public WebDriver getDriver() {
         return DriverManager.getDriver();
     }
@@ -99,6 +114,14 @@ public class TestContext {
         return null;
     }
 
+    /**
+     * Page timings captured during the scenario, in navigation order
+     */
+    @SuppressWarnings("unchecked")
+    public List<PagePerformance.PageTimings> getPageTimings() {
+        return (List<PagePerformance.PageTimings>) testData.computeIfAbsent(PAGE_TIMINGS, key -> new ArrayList<>());
+    }
+
     public void clearTestData() {
         testData.clear();
     }
@@ -112,6 +135,7 @@ public class TestContext {
     public static final String CART_ITEMS = "cart_items";
     public static final String ORDER_TOTAL = "order_total";
     public static final String CHECKOUT_INFO = "checkout_info";
+    public static final String PAGE_TIMINGS = "page_timings";
 
     public static class UserCredentials {
         public static final String STANDARD_USER = "standard_user";
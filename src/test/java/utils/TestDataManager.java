@@ -6,25 +6,28 @@ import java.util.Properties;
 
 /**
  * Test Data Manager - Handles external test data configuration
+ * Loaded once and read-only afterwards, so it is safe to share between parallel workers
  */
 public class TestDataManager {
 
-    private static Properties properties;
-    private static TestDataManager instance;
+    private final Properties properties = new Properties();
 
     private TestDataManager() {
         loadProperties();
     }
 
     public static TestDataManager getInstance() {
-        if (instance == null) {
-            instance = new TestDataManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Lazy holder - the JVM guarantees the instance is created exactly once
+     */
+    private static class Holder {
+        private static final TestDataManager INSTANCE = new TestDataManager();
     }
 
     private void loadProperties() {
-        properties = new Properties();
         try (InputStream inputStream = getClass().getClassLoader()
                 .getResourceAsStream("test-data.properties")) {
             if (inputStream != null) {
@@ -104,6 +107,24 @@ public class TestDataManager {
         return getProperty("price.bikelight");
     }
 
+    // Product Id Methods
+
+    /**
+     * Get the app's item id for a product name, e.g. "Sauce Labs Backpack" -> 4
+     * Looks up the product.<key> entry holding the name, then the matching id.<key> entry
+     */
+    public int getProductId(String productName) {
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("product.") && productName.equals(properties.getProperty(key))) {
+                String id = getProperty("id." + key.substring("product.".length()));
+                if (id != null) {
+                    return Integer.parseInt(id.trim());
+                }
+            }
+        }
+        throw new IllegalArgumentException("No product id configured for: " + productName);
+    }
+
     // Checkout Information Methods
     public String getCheckoutFirstName() {
         return getProperty("checkout.firstname");
@@ -0,0 +1,255 @@
+package utils;
+
+import metrics.FlightEvents;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Duration;
+
+/**
+ * Explicit wait engine - drivers run without implicit waits, so every wait goes through here
+ * Presence, absence and stability conditions each have their own timeout:
+ * positive checks wait long, negative checks give up quickly
+ *
+ * In the default observer strategy, presence, visibility, clickable, text and absence waits run inside the
+ * browser: a MutationObserver resolves the wait the moment the condition holds, backed by a short in-browser
+ * re-check (wait.observer.recheck.ms) for changes no mutation reports. Polling is only used
+ * for stability waits, locators scripts cannot resolve, or drivers without script support.
+ */
+public class WaitEngine {
+
+    private static final String OBSERVER_WAIT_SCRIPT =
+            "var using = arguments[0], value = arguments[1], condition = arguments[2], timeout = arguments[3];" +
+            "var expectedText = arguments[5];" +
+            "var done = arguments[arguments.length - 1];" +
+            ScriptLocator.FIND_ALL_FUNCTION +
+            "function isVisible(el) {" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) { return false; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0;" +
+            "}" +
+            "function check() {" +
+            "  var found = findAll(using, value);" +
+            "  if (condition === 'present') { return found.length ? found[0] : null; }" +
+            "  if (condition === 'text') { return found.length && found[0].innerText.trim() === expectedText ? true : null; }" +
+            "  for (var i = 0; i < found.length; i++) {" +
+            "    var visible = isVisible(found[i]);" +
+            "    if (condition === 'absent' && visible) { return null; }" +
+            "    if (condition === 'visible' && visible) { return found[i]; }" +
+            "    if (condition === 'clickable' && visible && !found[i].disabled) { return found[i]; }" +
+            "  }" +
+            "  return condition === 'absent' ? true : null;" +
+            "}" +
+            "var result = check();" +
+            "if (result) { done(result); return; }" +
+            "var finished = false, timer, interval, observer;" +
+            "function finish(value) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  observer.disconnect(); clearTimeout(timer); clearInterval(interval);" +
+            "  done(value);" +
+            "}" +
+            "function recheck() { var current = check(); if (current) { finish(current); } }" +
+            "observer = new MutationObserver(recheck);" +
+            "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            // CSS transitions, animations and layout changes alter visibility without a DOM mutation
+            "interval = setInterval(recheck, arguments[4]);" +
+            "timer = setTimeout(function () { finish(null); }, timeout);";
+
+    private final WebDriver driver;
+    private final Duration presenceTimeout;
+    private final Duration absenceTimeout;
+    private final Duration stabilityWindow;
+    private final Duration pollingInterval;
+    private final Duration recheckInterval;
+    private boolean observerAvailable;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+        this.presenceTimeout = Duration.ofMillis(ConfigReader.getLong("wait.presence.timeout.ms", 10000));
+        this.absenceTimeout = Duration.ofMillis(ConfigReader.getLong("wait.absence.timeout.ms", 1000));
+        this.stabilityWindow = Duration.ofMillis(ConfigReader.getLong("wait.stability.window.ms", 200));
+        this.pollingInterval = Duration.ofMillis(ConfigReader.getLong("wait.polling.ms", 500));
+        this.recheckInterval = Duration.ofMillis(ConfigReader.getLong("wait.observer.recheck.ms", 100));
+        this.observerAvailable = driver instanceof JavascriptExecutor
+                && "observer".equalsIgnoreCase(ConfigReader.getProperty("wait.strategy", "observer"));
+    }
+
+    /**
+     * Get the longest timeout any wait can use - async script waits need a script timeout beyond it
+     */
+    public static Duration getLongestTimeout() {
+        return Duration.ofMillis(Math.max(ConfigReader.getLong("wait.presence.timeout.ms", 10000),
+                ConfigReader.getLong("wait.absence.timeout.ms", 1000)));
+    }
+
+    /**
+     * Wait until an element is present in the DOM
+     */
+    public WebElement untilPresent(By locator) {
+        return until("present", locator, ExpectedConditions.presenceOfElementLocated(locator), presenceTimeout);
+    }
+
+    /**
+     * Wait until an element is visible
+     */
+    public WebElement untilVisible(By locator) {
+        return until("visible", locator, ExpectedConditions.visibilityOfElementLocated(locator), presenceTimeout);
+    }
+
+    /**
+     * Wait until an element is clickable
+     */
+    public WebElement untilClickable(By locator) {
+        return until("clickable", locator, ExpectedConditions.elementToBeClickable(locator), presenceTimeout);
+    }
+
+    /**
+     * Wait until no visible element matches the locator, failing after the presence timeout
+     */
+    public void untilAbsent(By locator) {
+        until("absent", locator, ExpectedConditions.invisibilityOfElementLocated(locator), presenceTimeout);
+    }
+
+    /**
+     * Wait until the first element matching the locator shows exactly the given text
+     */
+    public void untilText(By locator, String text) {
+        until("text", locator, text, ExpectedConditions.textToBe(locator, text), presenceTimeout);
+    }
+
+    /**
+     * Wait until an element is visible and its text and position stop changing
+     */
+    public WebElement untilStable(By locator) {
+        WebElement element = untilVisible(locator);
+        String[] lastSnapshot = {snapshot(element)};
+        long[] stableSince = {System.nanoTime()};
+
+        return until(d -> {
+            String current = snapshot(element);
+            if (!current.equals(lastSnapshot[0])) {
+                lastSnapshot[0] = current;
+                stableSince[0] = System.nanoTime();
+                return null;
+            }
+            return System.nanoTime() - stableSince[0] >= stabilityWindow.toNanos() ? element : null;
+        }, presenceTimeout);
+    }
+
+    /**
+     * Positive check - true as soon as the element is visible, false after the presence timeout
+     */
+    public boolean isVisible(By locator) {
+        try {
+            untilVisible(locator);
+            return true;
+        } catch (TimeoutException | ScriptTimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Negative check - true as soon as no visible element matches, false after the short absence timeout
+     */
+    public boolean isAbsent(By locator) {
+        try {
+            until("absent", locator, ExpectedConditions.invisibilityOfElementLocated(locator), absenceTimeout);
+            return true;
+        } catch (TimeoutException | ScriptTimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Instant check - no waiting at all
+     */
+    public boolean isPresentNow(By locator) {
+        return !driver.findElements(locator).isEmpty();
+    }
+
+    /**
+     * Run a wait, reporting it as a JFR event - timed out waits are reported too, as not satisfied
+     */
+    private <T> T until(String condition, By locator, ExpectedCondition<T> fallback, Duration timeout) {
+        return until(condition, locator, null, fallback, timeout);
+    }
+
+    private <T> T until(String condition, By locator, String text, ExpectedCondition<T> fallback, Duration timeout) {
+        FlightEvents.Wait event = new FlightEvents.Wait();
+        String strategy = observerAvailable && ScriptLocator.isSupported(locator) ? "observer" : "polling";
+        event.begin();
+        boolean satisfied = false;
+        try {
+            T result = waitFor(condition, locator, text, fallback, timeout);
+            satisfied = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.scenario = FlightEvents.getScenario();
+                event.condition = condition;
+                event.locator = locator.toString();
+                event.strategy = strategy;
+                event.timeout = timeout.toMillis();
+                event.satisfied = satisfied;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Wait for a condition in the browser via MutationObserver, falling back to polling when scripts can't be used
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T waitFor(String condition, By locator, String text, ExpectedCondition<T> fallback, Duration timeout) {
+        if (!observerAvailable || !ScriptLocator.isSupported(locator)) {
+            return until(fallback, timeout);
+        }
+
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_WAIT_SCRIPT,
+                    ScriptLocator.using(locator), ScriptLocator.value(locator), condition, timeout.toMillis(),
+                    recheckInterval.toMillis(), text);
+        } catch (UnsupportedCommandException e) {
+            observerAvailable = false;
+            return until(fallback, timeout);
+        } catch (JavascriptException e) {
+            // e.g. the document unloaded mid-wait - retry this wait by polling
+            return until(fallback, timeout);
+        } catch (ScriptTimeoutException e) {
+            // The driver's script timeout ran out before the wait's own timeout
+            throw new TimeoutException("Expected condition failed: waiting for " + condition + " of " + locator
+                    + " (script timeout before " + timeout.toMillis() + " ms)", e);
+        }
+
+        if (result == null) {
+            throw new TimeoutException("Expected condition failed: waiting for " + condition + " of " + locator
+                    + " (tried for " + timeout.toMillis() + " ms with MutationObserver)");
+        }
+        return (T) result;
+    }
+
+    private <T> T until(ExpectedCondition<T> condition, Duration timeout) {
+        WebDriverWait wait = new WebDriverWait(driver, timeout, pollingInterval);
+        wait.ignoring(StaleElementReferenceException.class);
+        return wait.until(condition);
+    }
+
+    private static String snapshot(WebElement element) {
+        Rectangle rect = element.getRect();
+        return element.getText() + "|" + rect.getX() + "," + rect.getY() + "," + rect.getWidth() + "," + rect.getHeight();
+    }
+}
@@ -0,0 +1,30 @@
+@swag_labs @performance @local_origin
+Feature: Swag Labs Page Load Performance
+  As a product owner
+  I want page load budgets checked by the test suite
+  So that performance regressions fail the build
+
+  @page_load
+  Scenario: Products page loads within budget
+    Given I am logged in as "standard_user"
+    Then the products page should load within 1500 ms
+    And no resource should take longer than 500 ms
+    And the first contentful paint should happen within 1500 ms
+    And the largest contentful paint should happen within 2500 ms
+
+  @page_load
+  Scenario Outline: Products page renders within budget after logging in
+    Given I am on the Swag Labs login page
+    When I submit the login form with username "<username>" and password "secret_sauce"
+    Then the products page should render within <budget> ms of submitting the login
+
+    Examples:
+      | username                | budget |
+      | standard_user           | 1500   |
+      | performance_glitch_user | 6000   |
+
+  @page_load
+  Scenario: Login page loads within budget
+    Given I am on the Swag Labs login page
+    Then the page should load within 1500 ms
+    And no resource should take longer than 500 ms
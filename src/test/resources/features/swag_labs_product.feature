@@ -1,13 +1,11 @@
-@swag_labs
+@swag_labs @lean
 Feature: Swag Labs Product Test Flow
   As a customer
   I want to browse and purchase products from Swag Labs
-  Background:
-    Given I am on the Swag Labs login page
 
   @product_details
   Scenario Outline: User can view product details
-    Given I login with username "<username>" and password "<password>"
+    Given I am logged in as "<username>"
     And I am on the products page
     When I click on product "<productName>"
     Then I should see the product details page
@@ -17,6 +15,6 @@ Feature: Swag Labs Product Test Flow
     Then the cart badge should show "<cartCount>" items
 
     Examples:
-      | username      | password      | productName           | amount | cartCount |
-      | standard_user | secret_sauce  | Sauce Labs Backpack   | $29.99 | 1         |
-      | standard_user | secret_sauce  | Sauce Labs Bike Light | $9.99  | 1         |
\ No newline at end of file
+      | username      | productName           | amount | cartCount |
+      | standard_user | Sauce Labs Backpack   | $29.99 | 1         |
+      | standard_user | Sauce Labs Bike Light | $9.99  | 1         |
@@ -0,0 +1,418 @@
+/*
+ * Swag Labs stand-in - a static clone of the pages exercised by the page objects.
+ * Keeps the same ids, classes, data-test attributes, texts and storage (session-username cookie,
+ * cart-contents localStorage) as the real application.
+ */
+(function () {
+    'use strict';
+
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var PASSWORD = 'secret_sauce';
+    var CART_KEY = 'cart-contents';
+    var SESSION_COOKIE = 'session-username';
+    var ERROR_KEY = 'standin-error';
+    var TAX_RATE = 0.08;
+
+    var PRODUCTS = [
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included."},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.'},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel."},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.'},
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office."}
+    ];
+
+    var SORTS = {
+        az: {label: 'Name (A to Z)', compare: function (a, b) { return a.name.localeCompare(b.name); }},
+        za: {label: 'Name (Z to A)', compare: function (a, b) { return b.name.localeCompare(a.name); }},
+        lohi: {label: 'Price (low to high)', compare: function (a, b) { return a.price - b.price; }},
+        hilo: {label: 'Price (high to low)', compare: function (a, b) { return b.price - a.price; }}
+    };
+
+    var root = document.getElementById('root');
+    var currentSort = 'az';
+
+    // ---- state -------------------------------------------------------------
+
+    function getSessionUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function setSessionUser(username) {
+        if (username) {
+            document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/; max-age=600';
+        } else {
+            document.cookie = SESSION_COOKIE + '=; path=/; max-age=0';
+        }
+    }
+
+    function getCart() {
+        try {
+            return JSON.parse(window.localStorage.getItem(CART_KEY)) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function setCart(ids) {
+        if (ids.length) {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        } else {
+            window.localStorage.removeItem(CART_KEY);
+        }
+    }
+
+    function toggleCart(id) {
+        var cart = getCart();
+        var index = cart.indexOf(id);
+        if (index >= 0) {
+            cart.splice(index, 1);
+        } else {
+            cart.push(id);
+        }
+        setCart(cart);
+    }
+
+    function product(id) {
+        return PRODUCTS.filter(function (p) { return p.id === id; })[0];
+    }
+
+    // ---- helpers -----------------------------------------------------------
+
+    function esc(text) {
+        return String(text).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;').replace(/'/g, '&#39;');
+    }
+
+    function slug(name) {
+        return name.replace(/\s/g, '-').toLowerCase();
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    function on(selector, event, handler) {
+        Array.prototype.forEach.call(root.querySelectorAll(selector), function (el) {
+            el.addEventListener(event, handler);
+        });
+    }
+
+    function errorBlock(message) {
+        if (!message) {
+            return '<div class="error-message-container"></div>';
+        }
+        return '<div class="error-message-container error"><h3 data-test="error">' +
+            '<button class="error-button" data-test="error-button" aria-label="close">' +
+            '<svg width="10" height="10" viewBox="0 0 10 10"><path d="M1 1L9 9M9 1L1 9" stroke="#fff"/></svg>' +
+            '</button>' + esc(message) + '</h3></div>';
+    }
+
+    function cartButton(p, detailsPage) {
+        var inCart = getCart().indexOf(p.id) >= 0;
+        var id = detailsPage ? (inCart ? 'remove' : 'add-to-cart') : (inCart ? 'remove-' : 'add-to-cart-') + slug(p.name);
+        return '<button class="btn ' + (inCart ? 'btn_secondary' : 'btn_primary') + ' btn_small btn_inventory" id="' + esc(id) +
+            '" data-test="' + esc(id) + '" name="' + esc(id) + '" data-item="' + p.id + '">' +
+            (inCart ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    function header(title, secondary) {
+        var count = getCart().length;
+        return '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">' +
+            '<div class="header_container" id="header_container" data-test="header-container">' +
+            '<div class="primary_header" data-test="primary-header">' +
+            '<div id="menu_button_container"><button id="react-burger-menu-btn" type="button">Open Menu</button>' +
+            '<nav class="bm-menu" hidden>' +
+            '<a id="inventory_sidebar_link" class="menu-item" data-test="inventory-sidebar-link" href="/inventory.html">All Items</a>' +
+            '<a id="logout_sidebar_link" class="menu-item" data-test="logout-sidebar-link" href="#">Logout</a>' +
+            '<a id="reset_sidebar_link" class="menu-item" data-test="reset-sidebar-link" href="#">Reset App State</a>' +
+            '</nav></div>' +
+            '<div class="header_label"><div class="app_logo">Swag Labs</div></div>' +
+            '<div id="shopping_cart_container" class="shopping_cart_container">' +
+            '<a class="shopping_cart_link" data-test="shopping-cart-link" href="/cart.html">' +
+            (count ? '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>' : '') +
+            '</a></div></div>' +
+            '<div class="header_secondary_container" data-test="secondary-header">' +
+            '<span class="title" data-test="title">' + esc(title) + '</span>' + (secondary || '') +
+            '</div></div>';
+    }
+
+    function footer() {
+        return '</div><footer class="footer" data-test="footer"><div class="footer_copy" data-test="footer-copy">' +
+            '&copy; Sauce Labs. All Rights Reserved.</div></footer></div>';
+    }
+
+    function bindHeader() {
+        on('#react-burger-menu-btn', 'click', function () {
+            var menu = root.querySelector('.bm-menu');
+            menu.hidden = !menu.hidden;
+        });
+        on('#logout_sidebar_link', 'click', function (event) {
+            event.preventDefault();
+            setSessionUser(null);
+            go('/');
+        });
+        on('#reset_sidebar_link', 'click', function (event) {
+            event.preventDefault();
+            setCart([]);
+            render();
+        });
+    }
+
+    function cartItems(withButtons) {
+        return getCart().map(product).filter(Boolean).map(function (p) {
+            return '<div class="cart_item" data-test="inventory-item">' +
+                '<div class="cart_quantity" data-test="item-quantity">1</div>' +
+                '<div class="cart_item_label">' +
+                '<a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_title_link" data-test="item-' + p.id + '-title-link">' +
+                '<div class="inventory_item_name" data-test="inventory-item-name">' + esc(p.name) + '</div></a>' +
+                '<div class="inventory_item_desc" data-test="inventory-item-desc">' + esc(p.desc) + '</div>' +
+                '<div class="item_pricebar"><div class="inventory_item_price" data-test="inventory-item-price">' + money(p.price) + '</div>' +
+                (withButtons ? cartButton(p, false) : '') +
+                '</div></div></div>';
+        }).join('');
+    }
+
+    function bindCartButtons() {
+        on('button[data-item]', 'click', function (event) {
+            toggleCart(Number(event.currentTarget.getAttribute('data-item')));
+            render();
+        });
+    }
+
+    // ---- pages -------------------------------------------------------------
+
+    function loginPage() {
+        var error = window.sessionStorage.getItem(ERROR_KEY);
+        window.sessionStorage.removeItem(ERROR_KEY);
+
+        root.innerHTML = '<div class="login_container"><div class="login_logo">Swag Labs</div>' +
+            '<div class="login_wrapper"><div class="login_wrapper-inner"><div class="login-box">' +
+            '<form id="login-form">' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Username" type="text" data-test="username" id="user-name" name="user-name" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Password" type="password" data-test="password" id="password" name="password" autocorrect="off" autocapitalize="none"></div>' +
+            errorBlock(error) +
+            '<input type="submit" class="submit-button btn_action" data-test="login-button" id="login-button" name="login-button" value="Login">' +
+            '</form></div></div></div></div>';
+
+        on('#login-form', 'submit', function (event) {
+            event.preventDefault();
+            var username = root.querySelector('#user-name').value;
+            var password = root.querySelector('#password').value;
+            var message = null;
+
+            if (!username) {
+                message = 'Epic sadface: Username is required';
+            } else if (!password) {
+                message = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                message = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (username === 'locked_out_user') {
+                message = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+
+            if (message) {
+                window.sessionStorage.setItem(ERROR_KEY, message);
+                loginPage();
+                root.querySelector('#user-name').value = username;
+                root.querySelector('#password').value = password;
+                return;
+            }
+
+            setSessionUser(username);
+            if (username === 'performance_glitch_user') {
+                setTimeout(function () { go('/inventory.html'); }, 2500);
+            } else {
+                go('/inventory.html');
+            }
+        });
+        on('.error-button', 'click', function (event) {
+            event.preventDefault();
+            root.querySelector('.error-message-container').outerHTML = errorBlock(null);
+        });
+    }
+
+    function inventoryPage() {
+        var sortSelect = '<span class="select_container"><span class="active_option" data-test="active-option">' + SORTS[currentSort].label + '</span>' +
+            '<select class="product_sort_container" data-test="product-sort-container">' +
+            Object.keys(SORTS).map(function (key) {
+                return '<option value="' + key + '"' + (key === currentSort ? ' selected' : '') + '>' + SORTS[key].label + '</option>';
+            }).join('') + '</select></span>';
+
+        var items = PRODUCTS.slice().sort(SORTS[currentSort].compare).map(function (p) {
+            return '<div class="inventory_item" data-test="inventory-item">' +
+                '<div class="inventory_item_img"><a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_img_link" data-test="item-' + p.id + '-img-link">' +
+                '<img alt="' + esc(p.name) + '" class="inventory_item_img" src="/static/item.svg" data-test="inventory-item-' + esc(slug(p.name)) + '-img"></a></div>' +
+                '<div class="inventory_item_description" data-test="inventory-item-description"><div class="inventory_item_label">' +
+                '<a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_title_link" data-test="item-' + p.id + '-title-link">' +
+                '<div class="inventory_item_name" data-test="inventory-item-name">' + esc(p.name) + '</div></a>' +
+                '<div class="inventory_item_desc" data-test="inventory-item-desc">' + esc(p.desc) + '</div></div>' +
+                '<div class="pricebar"><div class="inventory_item_price" data-test="inventory-item-price">' + money(p.price) + '</div>' +
+                cartButton(p, false) + '</div></div></div>';
+        }).join('');
+
+        root.innerHTML = header('Products', sortSelect) +
+            '<div id="inventory_container" class="inventory_container"><div><div class="inventory_list" data-test="inventory-list">' +
+            items + '</div></div></div>' + footer();
+
+        bindHeader();
+        bindCartButtons();
+        on('.product_sort_container', 'change', function (event) {
+            currentSort = event.currentTarget.value;
+            inventoryPage();
+        });
+    }
+
+    function inventoryItemPage() {
+        var id = Number(new URLSearchParams(window.location.search).get('id'));
+        var p = product(id);
+        var details = p
+            ? '<div class="inventory_details_container" data-test="inventory-container"><div class="inventory_details_desc_container">' +
+              '<div class="inventory_details_name large_size" data-test="inventory-item-name">' + esc(p.name) + '</div>' +
+              '<div class="inventory_details_desc large_size" data-test="inventory-item-desc">' + esc(p.desc) + '</div>' +
+              '<div class="inventory_details_price" data-test="inventory-item-price">' + money(p.price) + '</div>' +
+              cartButton(p, true) + '</div></div>'
+            : '<div class="inventory_details_name large_size" data-test="inventory-item-name">ITEM NOT FOUND</div>';
+
+        root.innerHTML = header('', '<button class="btn btn_secondary back btn_large inventory_details_back_button" data-test="back-to-products" id="back-to-products" name="back-to-products">Back to products</button>') +
+            '<div class="inventory_details" data-test="inventory-container">' + details + '</div>' + footer();
+
+        bindHeader();
+        bindCartButtons();
+        on('#back-to-products', 'click', function () { go('/inventory.html'); });
+    }
+
+    function cartPage() {
+        root.innerHTML = header('Your Cart') +
+            '<div id="cart_contents_container" class="cart_contents_container"><div>' +
+            '<div class="cart_list" data-test="cart-list"><div class="cart_quantity_label" data-test="cart-quantity-label">QTY</div>' +
+            '<div class="cart_desc_label" data-test="cart-desc-label">Description</div>' + cartItems(true) + '</div>' +
+            '<div class="cart_footer">' +
+            '<button class="btn btn_secondary back btn_medium" data-test="continue-shopping" id="continue-shopping" name="continue-shopping">Continue Shopping</button>' +
+            '<button class="btn btn_action btn_medium checkout_button" data-test="checkout" id="checkout" name="checkout">Checkout</button>' +
+            '</div></div></div>' + footer();
+
+        bindHeader();
+        bindCartButtons();
+        on('#continue-shopping', 'click', function () { go('/inventory.html'); });
+        on('#checkout', 'click', function () { go('/checkout-step-one.html'); });
+    }
+
+    function checkoutInformationPage(error, values) {
+        values = values || {};
+        root.innerHTML = header('Checkout: Your Information') +
+            '<div id="checkout_info_container" class="checkout_info_container"><div class="checkout_info_wrapper">' +
+            '<form id="checkout-form"><div class="checkout_info" data-test="checkout-info-container">' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="First Name" type="text" data-test="firstName" id="first-name" name="firstName" value="' + esc(values.firstName || '') + '"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Last Name" type="text" data-test="lastName" id="last-name" name="lastName" value="' + esc(values.lastName || '') + '"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Zip/Postal Code" type="text" data-test="postalCode" id="postal-code" name="postalCode" value="' + esc(values.postalCode || '') + '"></div>' +
+            errorBlock(error) + '</div>' +
+            '<div class="checkout_buttons">' +
+            '<button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel" name="cancel" type="button">Cancel</button>' +
+            '<input type="submit" class="submit-button btn btn_primary cart_button btn_action" data-test="continue" id="continue" name="continue" value="Continue">' +
+            '</div></form></div></div>' + footer();
+
+        bindHeader();
+        on('#cancel', 'click', function () { go('/cart.html'); });
+        on('.error-button', 'click', function (event) {
+            event.preventDefault();
+            root.querySelector('.error-message-container').outerHTML = errorBlock(null);
+        });
+        on('#checkout-form', 'submit', function (event) {
+            event.preventDefault();
+            var entered = {
+                firstName: root.querySelector('#first-name').value,
+                lastName: root.querySelector('#last-name').value,
+                postalCode: root.querySelector('#postal-code').value
+            };
+            var message = !entered.firstName ? 'Error: First Name is required'
+                : !entered.lastName ? 'Error: Last Name is required'
+                : !entered.postalCode ? 'Error: Postal Code is required'
+                : null;
+            if (message) {
+                checkoutInformationPage(message, entered);
+            } else {
+                go('/checkout-step-two.html');
+            }
+        });
+    }
+
+    function checkoutOverviewPage() {
+        var itemTotal = getCart().map(product).filter(Boolean).reduce(function (sum, p) { return sum + p.price; }, 0);
+        var tax = Math.round(itemTotal * TAX_RATE * 100) / 100;
+
+        root.innerHTML = header('Checkout: Overview') +
+            '<div id="checkout_summary_container" class="checkout_summary_container"><div>' +
+            '<div class="cart_list" data-test="cart-list">' + cartItems(false) + '</div>' +
+            '<div class="summary_info">' +
+            '<div class="summary_info_label" data-test="payment-info-label">Payment Information:</div>' +
+            '<div class="summary_value_label" data-test="payment-info-value">SauceCard #31337</div>' +
+            '<div class="summary_info_label" data-test="shipping-info-label">Shipping Information:</div>' +
+            '<div class="summary_value_label" data-test="shipping-info-value">Free Pony Express Delivery!</div>' +
+            '<div class="summary_info_label" data-test="total-info-label">Price Total</div>' +
+            '<div class="summary_subtotal_label" data-test="subtotal-label">Item total: ' + money(itemTotal) + '</div>' +
+            '<div class="summary_tax_label" data-test="tax-label">Tax: ' + money(tax) + '</div>' +
+            '<div class="summary_info_label summary_total_label" data-test="total-label">Total: ' + money(itemTotal + tax) + '</div>' +
+            '<div class="cart_footer">' +
+            '<button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel" name="cancel">Cancel</button>' +
+            '<button class="btn btn_action btn_medium cart_button" data-test="finish" id="finish" name="finish">Finish</button>' +
+            '</div></div></div></div>' + footer();
+
+        bindHeader();
+        on('#cancel', 'click', function () { go('/inventory.html'); });
+        on('#finish', 'click', function () {
+            setCart([]);
+            go('/checkout-complete.html');
+        });
+    }
+
+    function checkoutCompletePage() {
+        root.innerHTML = header('Checkout: Complete!') +
+            '<div id="checkout_complete_container" class="checkout_complete_container" data-test="checkout-complete-container">' +
+            '<h2 class="complete-header" data-test="complete-header">Thank you for your order!</h2>' +
+            '<div class="complete-text" data-test="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>' +
+            '<button class="btn btn_primary btn_small" data-test="back-to-products" id="back-to-products" name="back-to-products">Back Home</button>' +
+            '</div>' + footer();
+
+        bindHeader();
+        on('#back-to-products', 'click', function () { go('/inventory.html'); });
+    }
+
+    // ---- routing -----------------------------------------------------------
+
+    var PROTECTED_PAGES = {
+        '/inventory.html': inventoryPage,
+        '/inventory-item.html': inventoryItemPage,
+        '/cart.html': cartPage,
+        '/checkout-step-one.html': function () { checkoutInformationPage(null, null); },
+        '/checkout-step-two.html': checkoutOverviewPage,
+        '/checkout-complete.html': checkoutCompletePage
+    };
+
+    function render() {
+        var path = window.location.pathname;
+        var page = PROTECTED_PAGES[path];
+        if (!page) {
+            loginPage();
+        } else if (!getSessionUser()) {
+            window.sessionStorage.setItem(ERROR_KEY,
+                "Epic sadface: You can only access '" + path + "' when you are logged in.");
+            go('/');
+        } else {
+            page();
+        }
+    }
+
+    render();
+})();